@@ -0,0 +1,75 @@
+package com.runrt.gateway.config;
+
+import com.runrt.common.catalog.PollCatalog;
+import com.runrt.common.partitioning.HotPollKeys;
+import com.runrt.common.serialization.CompactEventSerializer;
+import com.runrt.common.serialization.JsonEventSerializer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Configuration
+@ConditionalOnProperty(name = "gateway.votes.fast-path.enabled", havingValue = "true")
+public class VoteFastPathConfig {
+
+    @Value("${kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${runrt.events.encoding:json}")
+    private String eventEncoding;
+
+    @Value("${gateway.votes.fast-path.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${gateway.votes.hot-polls.shards:12}")
+    private int hotPollShards;
+
+    @Value("${gateway.votes.hot-polls.votes-per-second:500}")
+    private long hotPollVotesPerSecond;
+
+    @Value("${gateway.votes.hot-polls.hold-ms:60000}")
+    private long hotPollHoldMs;
+
+    @Value("${gateway.votes.hot-polls.pinned:}")
+    private List<UUID> pinnedHotPolls;
+
+    @Bean(destroyMethod = "close")
+    public KafkaSender<String, Object> voteSender() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                "json".equals(eventEncoding) ? JsonEventSerializer.class : CompactEventSerializer.class);
+        // Same delivery guarantees as voting-service's producer
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        return KafkaSender.create(SenderOptions.create(props));
+    }
+
+    @Bean(destroyMethod = "close")
+    public PollCatalog pollCatalog(@Value("${gateway.votes.catalog.enabled:true}") boolean enabled,
+                                   @Value("${gateway.votes.catalog.missing-ttl-ms:5000}") long missingTtlMs) {
+        PollCatalog catalog = new PollCatalog(bootstrapServers, missingTtlMs);
+        if (enabled) {
+            catalog.start();
+        }
+        return catalog;
+    }
+
+    @Bean
+    public HotPollKeys hotPollKeys() {
+        return new HotPollKeys(hotPollShards, hotPollVotesPerSecond, hotPollHoldMs, pinnedHotPolls);
+    }
+}
@@ -1,7 +1,6 @@
 package com.runrt.gateway.filter;
 
-import com.runrt.common.security.JwtUtil;
-import io.jsonwebtoken.Claims;
+import com.runrt.gateway.security.VerifiedTokenCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -15,12 +14,15 @@ import reactor.core.publisher.Mono;
 @Component
 public class JwtRelayFilter extends AbstractGatewayFilterFactory<JwtRelayFilter.Config> {
 
-    private final JwtUtil jwtUtil;
+    static final String USER_ID_HEADER = "X-User-Id";
+    static final String USER_ROLE_HEADER = "X-User-Role";
+
+    private final VerifiedTokenCache tokenCache;
 
     @Autowired
-    public JwtRelayFilter(JwtUtil jwtUtil) {
+    public JwtRelayFilter(VerifiedTokenCache tokenCache) {
         super(Config.class);
-        this.jwtUtil = jwtUtil;
+        this.tokenCache = tokenCache;
     }
 
     public static class Config { }
@@ -31,21 +33,31 @@ public class JwtRelayFilter extends AbstractGatewayFilterFactory<JwtRelayFilter.
     }
 
     private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        String authHeader = headers.getFirst(HttpHeaders.AUTHORIZATION);
+        VerifiedTokenCache.Identity identity = null;
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            try {
-                Claims claims = jwtUtil.parseClaims(token);
-                String uid = (String) claims.get("uid");
-                String role = (String) claims.get("role");
-                ServerHttpRequest mutated = exchange.getRequest().mutate()
-                        .header("X-User-Id", uid != null ? uid : "")
-                        .header("X-User-Role", role != null ? role : "")
-                        .build();
-                return chain.filter(exchange.mutate().request(mutated).build());
-            } catch (Exception ignored) {
-                // fall through without headers if token invalid
-            }
+            identity = tokenCache.verify(authHeader.substring(7));
+        }
+        if (identity != null) {
+            VerifiedTokenCache.Identity verified = identity;
+            ServerHttpRequest mutated = exchange.getRequest().mutate()
+                    .headers(h -> {
+                        h.set(USER_ID_HEADER, verified.userId());
+                        h.set(USER_ROLE_HEADER, verified.role());
+                    })
+                    .build();
+            return chain.filter(exchange.mutate().request(mutated).build());
+        }
+        // Fail closed: without a valid token never forward identity headers, even client-supplied ones
+        if (headers.containsKey(USER_ID_HEADER) || headers.containsKey(USER_ROLE_HEADER)) {
+            ServerHttpRequest stripped = exchange.getRequest().mutate()
+                    .headers(h -> {
+                        h.remove(USER_ID_HEADER);
+                        h.remove(USER_ROLE_HEADER);
+                    })
+                    .build();
+            return chain.filter(exchange.mutate().request(stripped).build());
         }
         return chain.filter(exchange);
     }
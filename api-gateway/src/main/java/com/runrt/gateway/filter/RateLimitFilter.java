@@ -0,0 +1,185 @@
+package com.runrt.gateway.filter;
+
+import com.runrt.gateway.ratelimit.LoadShedder;
+import com.runrt.gateway.ratelimit.TokenBucketStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-route token-bucket limits keyed on the caller ({@code X-User-Id}, or the client address when
+ * unauthenticated) and on the poll id, followed by adaptive load shedding. Rejections answer
+ * {@code 429} with {@code Retry-After: 1}.
+ * <p>
+ * The poll id comes from the path ({@code /api/polls/{id}}, {@code /api/results/{id}}), a
+ * {@code pollId} query parameter, or, for small JSON bodies such as {@code POST /votes}, the body.
+ */
+@Component
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+
+    /** Runs after {@link JwtRelayFilter}, which is a default filter with order 1. */
+    static final int ORDER = 100;
+
+    private static final int MAX_PEEK_BYTES = 2048;
+    private static final Pattern UUID_SEGMENT =
+            Pattern.compile("/api/(?:polls|results)/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})");
+    private static final Pattern POLL_ID_FIELD =
+            Pattern.compile("\"pollId\"\\s*:\\s*\"([0-9a-fA-F-]{36})\"");
+
+    private final TokenBucketStore buckets;
+    private final MeterRegistry registry;
+    private final Map<String, LoadShedder> shedders = new ConcurrentHashMap<>();
+    private final long targetLatencyNanos;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+
+    public RateLimitFilter(TokenBucketStore buckets,
+                           MeterRegistry registry,
+                           @Value("${gateway.shed.target-latency-ms:500}") long targetLatencyMs,
+                           @Value("${gateway.shed.min-concurrency:16}") int minConcurrency,
+                           @Value("${gateway.shed.max-concurrency:2000}") int maxConcurrency) {
+        super(Config.class);
+        this.buckets = buckets;
+        this.registry = registry;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /** A capacity of 0 disables that limit; an enabled limit needs a positive refill rate. */
+    @Data
+    public static class Config {
+        private int userCapacity;
+        private double userRefillPerSecond;
+        private int pollCapacity;
+        private double pollRefillPerSecond;
+        private boolean shed = true;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (config.getUserCapacity() > 0 && !(config.getUserRefillPerSecond() > 0)) {
+            throw new IllegalArgumentException("RateLimit userRefillPerSecond must be positive when userCapacity is set");
+        }
+        if (config.getPollCapacity() > 0 && !(config.getPollRefillPerSecond() > 0)) {
+            throw new IllegalArgumentException("RateLimit pollRefillPerSecond must be positive when pollCapacity is set");
+        }
+        return new OrderedGatewayFilter((exchange, chain) -> filter(config, exchange, chain), ORDER);
+    }
+
+    private Mono<Void> filter(Config config, ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String pollId = pollIdFromRequest(request);
+        if (config.getPollCapacity() > 0 && pollId == null && canPeekBody(request)) {
+            return ServerWebExchangeUtils.cacheRequestBody(exchange, cached -> {
+                DataBuffer body = exchange.getAttribute(ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR);
+                String fromBody = body != null ? match(POLL_ID_FIELD, body.toString(StandardCharsets.UTF_8)) : null;
+                return limit(config, exchange.mutate().request(cached).build(), chain, fromBody);
+            });
+        }
+        return limit(config, exchange, chain, pollId);
+    }
+
+    private Mono<Void> limit(Config config, ServerWebExchange exchange, GatewayFilterChain chain, String pollId) {
+        String routeId = routeId(exchange);
+        Mono<Boolean> userAllowed = config.getUserCapacity() > 0
+                ? buckets.tryConsume("user:" + routeId + ":" + callerKey(exchange), config.getUserCapacity(), config.getUserRefillPerSecond())
+                : Mono.just(true);
+        return userAllowed.flatMap(userOk -> {
+            if (!userOk) {
+                return reject(exchange, routeId, "user", "rate_limited");
+            }
+            Mono<Boolean> pollAllowed = config.getPollCapacity() > 0 && pollId != null
+                    ? buckets.tryConsume("poll:" + routeId + ":" + pollId, config.getPollCapacity(), config.getPollRefillPerSecond())
+                    : Mono.just(true);
+            return pollAllowed.flatMap(pollOk -> pollOk
+                    ? forward(config, exchange, chain, routeId)
+                    : reject(exchange, routeId, "poll", "rate_limited"));
+        });
+    }
+
+    private Mono<Void> forward(Config config, ServerWebExchange exchange, GatewayFilterChain chain, String routeId) {
+        if (!config.isShed()) {
+            return chain.filter(exchange);
+        }
+        LoadShedder shedder = shedders.computeIfAbsent(routeId, this::newShedder);
+        if (!shedder.tryAcquire()) {
+            return reject(exchange, routeId, "shed", "overloaded");
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> shedder.release(System.nanoTime() - start));
+    }
+
+    private LoadShedder newShedder(String routeId) {
+        LoadShedder shedder = new LoadShedder(targetLatencyNanos, minConcurrency, maxConcurrency);
+        Gauge.builder("gateway.shed.limit", shedder, LoadShedder::limit).tag("route", routeId).register(registry);
+        Gauge.builder("gateway.shed.in_flight", shedder, LoadShedder::inFlight).tag("route", routeId).register(registry);
+        return shedder;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String routeId, String reason, String error) {
+        registry.counter("gateway.ratelimit.rejected", "route", routeId, "reason", reason).increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = ("{\"error\":\"" + error + "\"}").getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    private static String callerKey(ServerWebExchange exchange) {
+        String userId = exchange.getRequest().getHeaders().getFirst(JwtRelayFilter.USER_ID_HEADER);
+        if (userId != null && !userId.isEmpty()) {
+            return userId;
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        return "ip:" + (remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : "unknown");
+    }
+
+    private static String pollIdFromRequest(ServerHttpRequest request) {
+        String fromPath = match(UUID_SEGMENT, request.getPath().value());
+        return fromPath != null ? fromPath : request.getQueryParams().getFirst("pollId");
+    }
+
+    private static boolean canPeekBody(ServerHttpRequest request) {
+        long length = request.getHeaders().getContentLength();
+        return HttpMethod.POST.equals(request.getMethod())
+                && length > 0 && length <= MAX_PEEK_BYTES
+                && MediaType.APPLICATION_JSON.isCompatibleWith(request.getHeaders().getContentType());
+    }
+
+    private static String match(Pattern pattern, String input) {
+        Matcher m = pattern.matcher(input);
+        return m.find() ? m.group(1) : null;
+    }
+}
@@ -0,0 +1,111 @@
+package com.runrt.gateway.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.runrt.common.votes.VoteOutcome;
+import com.runrt.gateway.votes.VoteFastPath;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Answers {@code POST /votes} in the gateway via {@link VoteFastPath} when
+ * {@code gateway.votes.fast-path.enabled} is set; every other request, and every request when the
+ * fast path is off, is routed to voting-service as usual. Runs after {@link RateLimitFilter}.
+ */
+@Component
+public class VoteFastPathFilter extends AbstractGatewayFilterFactory<VoteFastPathFilter.Config> {
+
+    static final int ORDER = RateLimitFilter.ORDER + 1;
+
+    private static final int MAX_BODY_BYTES = 4096;
+
+    private final ObjectProvider<VoteFastPath> fastPath;
+    private final ObjectMapper objectMapper;
+
+    public VoteFastPathFilter(ObjectProvider<VoteFastPath> fastPath, ObjectMapper objectMapper) {
+        super(Config.class);
+        this.fastPath = fastPath;
+        this.objectMapper = objectMapper;
+    }
+
+    public static class Config { }
+
+    public record VoteRequest(UUID pollId, UUID optionId) { }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter(this::filter, ORDER);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        VoteFastPath votes = fastPath.getIfAvailable();
+        ServerHttpRequest request = exchange.getRequest();
+        if (votes == null || !HttpMethod.POST.equals(request.getMethod()) || !"/votes".equals(request.getPath().value())) {
+            return chain.filter(exchange);
+        }
+
+        String userHeader = request.getHeaders().getFirst(JwtRelayFilter.USER_ID_HEADER);
+        if (userHeader == null || userHeader.isBlank()) {
+            return respond(exchange, HttpStatus.UNAUTHORIZED, "error", "missing_user");
+        }
+        UUID userId = parseUuid(userHeader);
+        if (userId == null) {
+            return respond(exchange, HttpStatus.BAD_REQUEST, "error", "invalid_user");
+        }
+
+        return DataBufferUtils.join(request.getBody(), MAX_BODY_BYTES)
+                .map(buffer -> {
+                    try {
+                        return objectMapper.readValue(buffer.asInputStream(true), VoteRequest.class);
+                    } catch (Exception ex) {
+                        return new VoteRequest(null, null);
+                    }
+                })
+                .defaultIfEmpty(new VoteRequest(null, null))
+                .flatMap(vote -> votes.submit(vote.pollId(), vote.optionId(), userId))
+                .onErrorResume(DataBufferLimitException.class, ex -> Mono.just(VoteOutcome.PAYLOAD_TOO_LARGE))
+                .flatMap(outcome -> respond(exchange, outcome));
+    }
+
+    private static Mono<Void> respond(ServerWebExchange exchange, VoteOutcome outcome) {
+        if (outcome == VoteOutcome.ACCEPTED) {
+            return respond(exchange, HttpStatus.ACCEPTED, "status", "queued");
+        }
+        if (outcome == VoteOutcome.BUSY) {
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return respond(exchange, HttpStatus.valueOf(outcome.httpStatus()), "error", outcome.code());
+    }
+
+    private static Mono<Void> respond(ServerWebExchange exchange, HttpStatus status, String field, String value) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = ("{\"" + field + "\":\"" + value + "\"}").getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.runrt.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit for one route. Each completed request updates a moving average of
+ * its latency: above the target the limit shrinks by 1%, otherwise it grows by {@code 1/limit}
+ * (about one slot per limit's worth of completions). Requests beyond the limit are shed
+ * immediately, so queues do not build up in front of a slow service.
+ */
+public class LoadShedder {
+
+    private static final double SMOOTHING = 0.1;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final long targetLatencyNanos;
+    private final int minLimit;
+    private final int maxLimit;
+    private double limit;
+    private double latencyNanos;
+    private volatile int currentLimit;
+
+    public LoadShedder(long targetLatencyNanos, int minLimit, int maxLimit) {
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = maxLimit;
+        this.currentLimit = maxLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long elapsedNanos) {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            latencyNanos = latencyNanos == 0 ? elapsedNanos : latencyNanos + SMOOTHING * (elapsedNanos - latencyNanos);
+            if (latencyNanos > targetLatencyNanos) {
+                limit = Math.max(minLimit, limit * 0.99);
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            currentLimit = (int) limit;
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int limit() {
+        return currentLimit;
+    }
+}
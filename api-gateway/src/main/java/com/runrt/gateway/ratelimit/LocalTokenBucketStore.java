@@ -0,0 +1,50 @@
+package com.runrt.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Component
+@ConditionalOnProperty(name = "gateway.ratelimit.mode", havingValue = "local", matchIfMissing = true)
+public class LocalTokenBucketStore implements TokenBucketStore {
+
+    private final Cache<String, Bucket> buckets;
+
+    public LocalTokenBucketStore(@Value("${gateway.ratelimit.local.max-buckets:100000}") long maxBuckets) {
+        // An idle bucket refills completely well within this window, so dropping it loses nothing
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    @Override
+    public Mono<Boolean> tryConsume(String key, int capacity, double refillPerSecond) {
+        Bucket bucket = buckets.get(key, k -> new Bucket(capacity));
+        return Mono.just(bucket.tryConsume(capacity, refillPerSecond, System.nanoTime()));
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        Bucket(int capacity) {
+            this.tokens = capacity;
+        }
+
+        synchronized boolean tryConsume(int capacity, double refillPerSecond, long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) / 1e9 * refillPerSecond);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
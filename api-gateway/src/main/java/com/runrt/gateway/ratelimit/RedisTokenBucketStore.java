@@ -0,0 +1,41 @@
+package com.runrt.gateway.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Buckets live in Redis hashes and are updated by one script call per request, using the Redis
+ * clock so every replica sees the same refill. If Redis is unreachable requests are let through;
+ * {@link LoadShedder} still protects the downstream services.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.ratelimit.mode", havingValue = "redis")
+@RequiredArgsConstructor
+@Slf4j
+public class RedisTokenBucketStore implements TokenBucketStore {
+
+    private static final RedisScript<Long> TAKE_TOKEN =
+            RedisScript.of(new ClassPathResource("scripts/take-token.lua"), Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    @Override
+    public Mono<Boolean> tryConsume(String key, int capacity, double refillPerSecond) {
+        return redisTemplate.execute(TAKE_TOKEN, List.of("ratelimit:" + key),
+                        List.of(String.valueOf(capacity), String.valueOf(refillPerSecond)))
+                .next()
+                .map(taken -> taken == 1L)
+                .onErrorResume(ex -> {
+                    log.warn("Rate limit check failed for {}, allowing request", key, ex);
+                    return Mono.just(true);
+                });
+    }
+}
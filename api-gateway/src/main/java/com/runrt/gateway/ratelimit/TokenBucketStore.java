@@ -0,0 +1,18 @@
+package com.runrt.gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Token buckets used by {@code RateLimitFilter}. Selected with {@code gateway.ratelimit.mode}:
+ * {@code local} keeps buckets in this gateway's memory, so each replica enforces its own share;
+ * {@code redis} keeps them in Redis so the limit holds across all gateway replicas.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Takes one token from the bucket, creating it full if it does not exist.
+     *
+     * @return whether a token was available
+     */
+    Mono<Boolean> tryConsume(String key, int capacity, double refillPerSecond);
+}
@@ -0,0 +1,102 @@
+package com.runrt.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.runrt.common.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identities of recently verified tokens, keyed by the token's SHA-256 digest. An entry never
+ * outlives the token's {@code exp} claim, so expiry is still enforced on hits. Tokens that fail
+ * verification are not cached and are re-checked (and rejected) on every request.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /** Header values relayed downstream for a verified token. */
+    public record Identity(String userId, String role, long expiresAtMillis) {
+    }
+
+    private final JwtUtil jwtUtil;
+    private final Cache<ByteBuffer, Identity> cache;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              MeterRegistry registry,
+                              @Value("${gateway.jwt.cache.max-entries:100000}") long maxEntries,
+                              @Value("${gateway.jwt.cache.max-ttl-seconds:300}") long maxTtlSeconds) {
+        this.jwtUtil = jwtUtil;
+        long maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<ByteBuffer, Identity>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, Identity identity, long currentTime) {
+                        long untilExpiry = TimeUnit.MILLISECONDS.toNanos(identity.expiresAtMillis() - System.currentTimeMillis());
+                        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, Identity identity, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, identity, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, Identity identity, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "gateway.jwt");
+    }
+
+    /**
+     * @return the token's identity, or {@code null} if the token is invalid or expired
+     */
+    public Identity verify(String token) {
+        ByteBuffer key = digest(token);
+        Identity cached = cache.getIfPresent(key);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return cached;
+        }
+        Identity identity = parse(token);
+        if (identity != null) {
+            cache.put(key, identity);
+        }
+        return identity;
+    }
+
+    private Identity parse(String token) {
+        try {
+            Claims claims = jwtUtil.parseClaims(token);
+            Date expiration = claims.getExpiration();
+            // Tokens without exp are still relayed, but only cached for max-ttl-seconds
+            long expiresAt = expiration != null ? expiration.getTime() : Long.MAX_VALUE;
+            String uid = (String) claims.get("uid");
+            String role = (String) claims.get("role");
+            return new Identity(uid != null ? uid : "", role != null ? role : "", expiresAt);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.runrt.gateway.votes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.runrt.common.catalog.PollCatalog;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Reactive counterpart of voting-service's {@code PollLookup}: resolves polls the
+ * {@link PollCatalog} has not seen yet at polls-service and records the answer. If polls-service
+ * cannot answer, the vote is accepted rather than rejected for a poll that may well exist.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.votes.fast-path.enabled", havingValue = "true")
+@Slf4j
+public class PollLookup {
+
+    private final PollCatalog pollCatalog;
+    private final WebClient webClient;
+    private final MeterRegistry registry;
+    private final Duration timeout;
+
+    public PollLookup(PollCatalog pollCatalog,
+                      MeterRegistry registry,
+                      WebClient.Builder webClientBuilder,
+                      @Value("${gateway.votes.catalog.polls-url:http://polls-service:8082}") String pollsUrl,
+                      @Value("${gateway.votes.catalog.lookup-timeout-ms:500}") long timeoutMs) {
+        this.pollCatalog = pollCatalog;
+        this.registry = registry;
+        this.webClient = webClientBuilder.baseUrl(pollsUrl).build();
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    public Mono<PollCatalog.Check> verify(UUID pollId, UUID optionId) {
+        return webClient.get().uri("/api/polls/{id}", pollId)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout)
+                .map(poll -> {
+                    pollCatalog.put(poll);
+                    return record("found", pollCatalog.check(pollId, optionId));
+                })
+                .defaultIfEmpty(PollCatalog.Check.VALID)
+                .onErrorResume(ex -> {
+                    if (ex instanceof WebClientResponseException response && response.getStatusCode() == HttpStatus.NOT_FOUND) {
+                        pollCatalog.markMissing(pollId);
+                        return Mono.just(record("missing", PollCatalog.Check.UNKNOWN_POLL));
+                    }
+                    log.warn("Poll lookup for {} failed: {}", pollId, ex.getMessage());
+                    return Mono.just(record("unavailable", PollCatalog.Check.VALID));
+                });
+    }
+
+    private PollCatalog.Check record(String result, PollCatalog.Check check) {
+        registry.counter("votes.catalog.lookup", "result", result).increment();
+        return check;
+    }
+}
@@ -0,0 +1,121 @@
+package com.runrt.gateway.votes;
+
+import com.runrt.common.catalog.PollCatalog;
+import com.runrt.common.events.VoteRecordedEvent;
+import com.runrt.common.partitioning.HotPollKeys;
+import com.runrt.common.votes.VoteOutcome;
+import com.runrt.common.votes.VoterClaims;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Publishes single votes from the gateway straight to {@code votes-topic}, skipping the HTTP hop
+ * to voting-service, which still persists them as the topic's consumer. Applies the same checks
+ * as voting-service: the {@link PollCatalog} poll/option check (looking up polls it has not seen
+ * via {@link PollLookup}), the one-vote-per-user claim of {@link VoterClaims}, and the same
+ * pollId keying, salted for hot polls by {@link HotPollKeys}.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.votes.fast-path.enabled", havingValue = "true")
+@Slf4j
+public class VoteFastPath {
+
+    public static final String TOPIC = "votes-topic";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_VOTERS =
+            RedisScript.of(new ClassPathResource(VoterClaims.CLAIM_SCRIPT), List.class);
+
+    private final KafkaSender<String, Object> voteSender;
+    private final HotPollKeys hotPollKeys;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final PollCatalog pollCatalog;
+    private final PollLookup pollLookup;
+    private final MeterRegistry registry;
+    private final Semaphore inFlight;
+    private final String votersTtlSeconds;
+
+    public VoteFastPath(KafkaSender<String, Object> voteSender,
+                        HotPollKeys hotPollKeys,
+                        ReactiveStringRedisTemplate redisTemplate,
+                        PollCatalog pollCatalog,
+                        PollLookup pollLookup,
+                        MeterRegistry registry,
+                        @Value("${gateway.votes.fast-path.max-in-flight:20000}") int maxInFlight,
+                        @Value("${gateway.votes.voters-ttl-seconds:" + VoterClaims.DEFAULT_TTL_SECONDS + "}") long votersTtlSeconds) {
+        this.voteSender = voteSender;
+        this.hotPollKeys = hotPollKeys;
+        this.redisTemplate = redisTemplate;
+        this.pollCatalog = pollCatalog;
+        this.pollLookup = pollLookup;
+        this.registry = registry;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.votersTtlSeconds = String.valueOf(votersTtlSeconds);
+    }
+
+    public Mono<VoteOutcome> submit(UUID pollId, UUID optionId, UUID userId) {
+        PollCatalog.Check check = pollCatalog.check(pollId, optionId);
+        Mono<PollCatalog.Check> verified = check == PollCatalog.Check.UNVERIFIED
+                ? pollLookup.verify(pollId, optionId)
+                : Mono.just(check);
+        return verified.flatMap(result -> {
+            VoteOutcome rejection = VoteOutcome.rejection(result);
+            return rejection != null ? Mono.just(record(rejection)) : claimAndPublish(pollId, optionId, userId);
+        });
+    }
+
+    private Mono<VoteOutcome> claimAndPublish(UUID pollId, UUID optionId, UUID userId) {
+        if (!inFlight.tryAcquire()) {
+            return Mono.just(record(VoteOutcome.BUSY));
+        }
+        String votersKey = VoterClaims.votersKey(pollId);
+        return redisTemplate.execute(CLAIM_VOTERS, List.of(votersKey), List.of(votersTtlSeconds, userId.toString()))
+                .next()
+                .map(added -> ((Number) added.get(0)).longValue())
+                .flatMap(added -> added > 0 ? publish(pollId, optionId, userId, votersKey) : Mono.just(VoteOutcome.ALREADY_VOTED))
+                .onErrorResume(ex -> {
+                    log.error("Voter index unavailable", ex);
+                    return Mono.just(VoteOutcome.UNAVAILABLE);
+                })
+                .doFinally(signal -> inFlight.release())
+                .map(this::record);
+    }
+
+    private Mono<VoteOutcome> publish(UUID pollId, UUID optionId, UUID userId, String votersKey) {
+        VoteRecordedEvent event = new VoteRecordedEvent(UUID.randomUUID(), pollId, optionId, userId, Instant.now());
+        SenderRecord<String, Object, UUID> senderRecord =
+                SenderRecord.create(new ProducerRecord<>(TOPIC, hotPollKeys.key(pollId, event.getVoteId()), event), event.getVoteId());
+        return voteSender.send(Mono.just(senderRecord))
+                .next()
+                .flatMap(result -> result.exception() == null
+                        ? Mono.just(VoteOutcome.ACCEPTED)
+                        : Mono.<VoteOutcome>error(result.exception()))
+                .onErrorResume(ex -> {
+                    log.error("Failed to publish vote for poll {}", pollId, ex);
+                    // Give the claim back so the user can retry
+                    return redisTemplate.opsForSet().remove(votersKey, userId.toString())
+                            .onErrorResume(removeEx -> Mono.just(0L))
+                            .thenReturn(VoteOutcome.UNAVAILABLE);
+                });
+    }
+
+    private VoteOutcome record(VoteOutcome outcome) {
+        registry.counter("votes.fastpath", "result", outcome.code()).increment();
+        return outcome;
+    }
+}
@@ -0,0 +1,29 @@
+-- Token bucket stored as a hash of {tokens, ts}; created full on first use.
+-- KEYS[1]: bucket key
+-- ARGV[1]: capacity, ARGV[2]: refill rate in tokens per second
+-- Returns 1 if a token was taken, 0 otherwise
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+  tokens = capacity
+  ts = now
+end
+tokens = math.min(capacity, tokens + math.max(0, now - ts) / 1000 * rate)
+local taken = 0
+if tokens >= 1 then
+  tokens = tokens - 1
+  taken = 1
+end
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+-- Keep the bucket only as long as it takes to refill completely (10 minutes if it never refills)
+local ttl = 600000
+if rate > 0 then
+  ttl = math.ceil(capacity / rate * 1000) + 1000
+end
+redis.call('PEXPIRE', KEYS[1], ttl)
+return taken
@@ -12,4 +12,9 @@ import org.springframework.context.annotation.Configuration;
 public class AuthProperties {
     private String jwtBase64Secret;
     private long jwtExpirationMs = 86400000; // 1 day
+    private int bcryptStrength = 10; // hashes below this strength are upgraded on login
+    private int hashThreads = Runtime.getRuntime().availableProcessors();
+    private int hashQueueSize = 1000;
+    private long credentialCacheTtlSeconds = 60;
+    private long credentialCacheMaxEntries = 100000;
 }
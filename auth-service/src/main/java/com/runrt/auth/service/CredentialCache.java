@@ -0,0 +1,78 @@
+package com.runrt.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.runrt.auth.security.AuthProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Short-lived record of credentials that recently passed BCrypt, so repeat logins skip both the
+ * user lookup and the hash. Only an HMAC of username and password is kept, under a random key
+ * generated at startup, and entries expire after {@code auth.credential-cache-ttl-seconds}.
+ */
+@Component
+public class CredentialCache {
+
+    public record VerifiedUser(UUID id, String username, String role) {
+    }
+
+    private record Entry(byte[] digest, VerifiedUser user) {
+    }
+
+    private final Cache<String, Entry> cache;
+    private final SecretKeySpec key;
+
+    public CredentialCache(AuthProperties properties, MeterRegistry registry) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, "HmacSHA256");
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCredentialCacheMaxEntries())
+                .expireAfterWrite(Duration.ofSeconds(properties.getCredentialCacheTtlSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "auth.credentials");
+    }
+
+    /**
+     * @return the user if this exact username/password pair was verified recently, else {@code null}
+     */
+    public VerifiedUser lookup(String username, String password) {
+        Entry entry = cache.getIfPresent(username);
+        if (entry == null || !MessageDigest.isEqual(entry.digest(), digest(username, password))) {
+            return null;
+        }
+        return entry.user();
+    }
+
+    public void put(String password, VerifiedUser user) {
+        cache.put(user.username(), new Entry(digest(user.username(), password), user));
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    private byte[] digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.runrt.auth.service;
+
+import com.runrt.auth.domain.User;
+import com.runrt.auth.domain.UserRepository;
+import com.runrt.common.security.JwtUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Login and registration pipeline. Recently verified credentials are answered from
+ * {@link CredentialCache}; everything else is hashed on the bounded {@code passwordHashExecutor}
+ * so request threads are not tied up by BCrypt. Hashes weaker than the configured strength are
+ * re-encoded after a successful login.
+ */
+@Service
+@Slf4j
+public class LoginService {
+
+    public enum Status { OK, INVALID_CREDENTIALS, USERNAME_TAKEN, BUSY }
+
+    public record Result(Status status, String token) {
+        static Result of(Status status) {
+            return new Result(status, null);
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtil jwtUtil;
+    private final CredentialCache credentialCache;
+    private final ExecutorService hashExecutor;
+
+    public LoginService(UserRepository userRepository,
+                        PasswordEncoder passwordEncoder,
+                        JwtUtil jwtUtil,
+                        CredentialCache credentialCache,
+                        @Qualifier("passwordHashExecutor") ExecutorService hashExecutor) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtil = jwtUtil;
+        this.credentialCache = credentialCache;
+        this.hashExecutor = hashExecutor;
+    }
+
+    public CompletableFuture<Result> login(String username, String password) {
+        if (username == null || password == null) {
+            return CompletableFuture.completedFuture(Result.of(Status.INVALID_CREDENTIALS));
+        }
+        CredentialCache.VerifiedUser cached = credentialCache.lookup(username, password);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(issue(cached));
+        }
+        Optional<User> userOpt = userRepository.findByUsername(username);
+        if (userOpt.isEmpty()) {
+            return CompletableFuture.completedFuture(Result.of(Status.INVALID_CREDENTIALS));
+        }
+        User user = userOpt.get();
+        return hash(() -> verify(user, password));
+    }
+
+    public CompletableFuture<Result> register(String username, String password) {
+        if (userRepository.findByUsername(username).isPresent()) {
+            return CompletableFuture.completedFuture(Result.of(Status.USERNAME_TAKEN));
+        }
+        return hash(() -> {
+            User user = User.builder()
+                    .username(username)
+                    .passwordHash(passwordEncoder.encode(password))
+                    .role("USER")
+                    .build();
+            userRepository.save(user);
+            credentialCache.invalidate(username);
+            return Result.of(Status.OK);
+        });
+    }
+
+    private Result verify(User user, String password) {
+        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+            return Result.of(Status.INVALID_CREDENTIALS);
+        }
+        if (passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+            try {
+                user.setPasswordHash(passwordEncoder.encode(password));
+                userRepository.save(user);
+            } catch (RuntimeException ex) {
+                // The old hash still works; try again on the next login
+                log.warn("Failed to upgrade password hash for {}", user.getUsername(), ex);
+            }
+        }
+        CredentialCache.VerifiedUser verified = new CredentialCache.VerifiedUser(user.getId(), user.getUsername(), user.getRole());
+        credentialCache.put(password, verified);
+        return issue(verified);
+    }
+
+    private Result issue(CredentialCache.VerifiedUser user) {
+        String token = jwtUtil.generateToken(user.username(), Map.of("uid", user.id().toString(), "role", user.role()));
+        return new Result(Status.OK, token);
+    }
+
+    private CompletableFuture<Result> hash(Supplier<Result> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, hashExecutor);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.completedFuture(Result.of(Status.BUSY));
+        }
+    }
+}
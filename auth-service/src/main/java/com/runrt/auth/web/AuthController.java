@@ -1,53 +1,43 @@
 package com.runrt.auth.web;
 
-import com.runrt.auth.domain.User;
-import com.runrt.auth.domain.UserRepository;
-import com.runrt.auth.security.AuthProperties;
-import com.runrt.common.security.JwtUtil;
+import com.runrt.auth.service.LoginService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final JwtUtil jwtUtil;
-    private final AuthProperties properties;
+    private final LoginService loginService;
 
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequest req) {
-        if (userRepository.findByUsername(req.getUsername()).isPresent()) {
-            return ResponseEntity.badRequest().body(Map.of("error", "username_taken"));
-        }
-        User user = User.builder()
-                .username(req.getUsername())
-                .passwordHash(passwordEncoder.encode(req.getPassword()))
-                .role("USER")
-                .build();
-        userRepository.save(user);
-        return ResponseEntity.ok(Map.of("status", "registered"));
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody RegisterRequest req) {
+        return loginService.register(req.getUsername(), req.getPassword()).<ResponseEntity<?>>thenApply(result -> switch (result.status()) {
+            case OK -> ResponseEntity.ok(Map.of("status", "registered"));
+            case USERNAME_TAKEN -> ResponseEntity.badRequest().body(Map.of("error", "username_taken"));
+            case BUSY -> busy();
+            case INVALID_CREDENTIALS -> ResponseEntity.badRequest().body(Map.of("error", "invalid_request"));
+        });
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest req) {
-        var userOpt = userRepository.findByUsername(req.getUsername());
-        if (userOpt.isEmpty()) {
-            return ResponseEntity.status(401).body(Map.of("error", "invalid_credentials"));
-        }
-        var user = userOpt.get();
-        if (!passwordEncoder.matches(req.getPassword(), user.getPasswordHash())) {
-            return ResponseEntity.status(401).body(Map.of("error", "invalid_credentials"));
-        }
-        String token = jwtUtil.generateToken(user.getUsername(), Map.of("uid", user.getId().toString(), "role", user.getRole()));
-        return ResponseEntity.ok(Map.of("token", token));
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest req) {
+        return loginService.login(req.getUsername(), req.getPassword()).<ResponseEntity<?>>thenApply(result -> switch (result.status()) {
+            case OK -> ResponseEntity.ok(Map.of("token", result.token()));
+            case INVALID_CREDENTIALS, USERNAME_TAKEN -> ResponseEntity.status(401).body(Map.of("error", "invalid_credentials"));
+            case BUSY -> busy();
+        });
+    }
+
+    private static ResponseEntity<?> busy() {
+        return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1").body(Map.of("error", "busy"));
     }
 
     @Data
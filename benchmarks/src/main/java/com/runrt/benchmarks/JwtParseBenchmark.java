@@ -0,0 +1,39 @@
+package com.runrt.benchmarks;
+
+import com.runrt.common.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of verifying a gateway token: HS256 signature check plus claims parsing, i.e. what
+ * {@code VerifiedTokenCache} pays on every miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParseBenchmark {
+
+    // The development secret from docker-compose.yml
+    static final String SECRET = "UnVuUnRTZWN1cmVKV1RTaWduaW5nS2V5MjAyNSEhISEhISEhISEhISEhISEhISE=";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, TimeUnit.HOURS.toMillis(1));
+        token = jwtUtil.generateToken("bench-user", Map.of("uid", UUID.randomUUID().toString(), "role", "USER"));
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+}
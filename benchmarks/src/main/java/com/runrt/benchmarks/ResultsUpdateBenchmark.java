@@ -0,0 +1,85 @@
+package com.runrt.benchmarks;
+
+import com.runrt.common.dedup.RecentIdFilter;
+import com.runrt.common.events.VoteRecordedEvent;
+import com.runrt.results.service.TallyStore;
+import com.runrt.results.service.VoteBatch;
+import com.runrt.results.service.VoteTrends;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-process part of {@code ResultsListener.handleVotes} for one poll cycle: folding the batch,
+ * building the tally script's KEYS/ARGV, recording trends and applying the counts to
+ * {@link TallyStore}. The Redis round trip itself is not included; the counts it would return are
+ * simulated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultsUpdateBenchmark {
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    /** 1 models a single viral poll; larger values spread the batch like ordinary traffic. */
+    @Param({"1", "100"})
+    public int polls;
+
+    private static final int OPTIONS_PER_POLL = 4;
+
+    private List<VoteRecordedEvent> events;
+    private RecentIdFilter recentVoteFilter;
+    private TallyStore tallyStore;
+    private VoteTrends voteTrends;
+    private long count;
+
+    @Setup
+    public void setUp() {
+        List<UUID> pollIds = new ArrayList<>();
+        List<UUID> optionIds = new ArrayList<>();
+        for (int p = 0; p < polls; p++) {
+            pollIds.add(UUID.randomUUID());
+        }
+        for (int o = 0; o < OPTIONS_PER_POLL; o++) {
+            optionIds.add(UUID.randomUUID());
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Instant now = Instant.now();
+        events = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            events.add(new VoteRecordedEvent(UUID.randomUUID(),
+                    pollIds.get(random.nextInt(polls)),
+                    optionIds.get(random.nextInt(OPTIONS_PER_POLL)),
+                    UUID.randomUUID(),
+                    now));
+        }
+        // Ids are never added, so every invocation folds the full batch
+        recentVoteFilter = new RecentIdFilter(200_000);
+        tallyStore = new TallyStore();
+        voteTrends = new VoteTrends(new SimpleMeterRegistry(), 5, 2000, 32);
+    }
+
+    @Benchmark
+    public void handleBatch(Blackhole bh) {
+        VoteBatch batch = VoteBatch.of(events, recentVoteFilter);
+        bh.consume(batch.scriptKeys());
+        bh.consume(batch.scriptArgs(86_400));
+        voteTrends.record(batch.events());
+        for (VoteBatch.OptionKey key : batch.groups()) {
+            count++;
+            tallyStore.apply(key.pollId(), key.optionId(), count, count);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.runrt.benchmarks;
+
+import com.runrt.common.events.VoteRecordedEvent;
+import com.runrt.common.serialization.CompactEventDeserializer;
+import com.runrt.common.serialization.CompactEventSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code VoteRecordedEvent} to and from {@code votes-topic} bytes, in the compact binary layout
+ * and the legacy JSON one ({@code runrt.events.encoding}). Decoding goes through
+ * {@link CompactEventDeserializer} in both cases, as the consumers do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VoteEventSerializationBenchmark {
+
+    private static final String TOPIC = "votes-topic";
+
+    private final CompactEventSerializer compactSerializer = new CompactEventSerializer();
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private final CompactEventDeserializer<VoteRecordedEvent> deserializer = new CompactEventDeserializer<>(VoteRecordedEvent.class);
+
+    private VoteRecordedEvent event;
+    private byte[] compactBytes;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() {
+        event = new VoteRecordedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), Instant.now());
+        compactBytes = compactSerializer.serialize(TOPIC, event);
+        jsonBytes = jsonSerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public byte[] serializeCompact() {
+        return compactSerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public VoteRecordedEvent deserializeCompact() {
+        return deserializer.deserialize(TOPIC, compactBytes);
+    }
+
+    @Benchmark
+    public VoteRecordedEvent deserializeJson() {
+        return deserializer.deserialize(TOPIC, jsonBytes);
+    }
+}
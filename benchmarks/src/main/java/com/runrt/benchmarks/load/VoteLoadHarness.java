@@ -0,0 +1,208 @@
+package com.runrt.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.runrt.common.security.JwtUtil;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load test of {@code POST /votes} through the API gateway. Creates {@code polls}
+ * polls, waits until voting-service's catalog knows them, then runs {@code threads} workers that
+ * each send one vote at a time as a fresh user (a token minted locally with the shared JWT secret)
+ * for {@code warmup} + {@code duration} seconds. Only the measured period is reported: accepted
+ * votes per second and latency percentiles of all requests, plus a count per status code.
+ * <p>
+ * Arguments are {@code key=value} pairs, e.g.
+ * {@code java -cp benchmarks.jar com.runrt.benchmarks.load.VoteLoadHarness threads=128 duration=60}.
+ * Each poll is capped by the gateway's per-poll rate limit ({@code GATEWAY_VOTES_POLL_PER_SECOND}),
+ * so use several polls or raise the limit to measure the pipeline rather than the limiter.
+ */
+public final class VoteLoadHarness {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String gateway;
+    private final int threads;
+    private final int polls;
+    private final int options;
+    private final long warmupNanos;
+    private final long durationNanos;
+    private final JwtUtil jwtUtil;
+    private final HttpClient client;
+
+    private final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    private VoteLoadHarness(Map<String, String> args) {
+        this.gateway = args.getOrDefault("gateway", "http://localhost:8080");
+        this.threads = Integer.parseInt(args.getOrDefault("threads", "64"));
+        this.polls = Integer.parseInt(args.getOrDefault("polls", "4"));
+        this.options = Integer.parseInt(args.getOrDefault("options", "4"));
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(args.getOrDefault("warmup", "10")));
+        this.durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(args.getOrDefault("duration", "60")));
+        this.jwtUtil = new JwtUtil(args.getOrDefault("jwt-secret", "UnVuUnRTZWN1cmVKV1RTaWduaW5nS2V5MjAyNSEhISEhISEhISEhISEhISEhISE="),
+                TimeUnit.HOURS.toMillis(1));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Map<String, String> args = new HashMap<>();
+        for (String arg : argv) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            args.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        new VoteLoadHarness(args).run();
+    }
+
+    private void run() throws Exception {
+        List<Target> targets = new ArrayList<>();
+        for (int p = 0; p < polls; p++) {
+            targets.add(createPoll(p));
+        }
+        for (Target target : targets) {
+            awaitCatalog(target);
+        }
+        System.out.printf("Running %d threads against %s: %d polls x %d options, %ds warmup, %ds measured%n",
+                threads, gateway, polls, options,
+                TimeUnit.NANOSECONDS.toSeconds(warmupNanos), TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> work(targets, measureFrom, end), "vote-load-" + t);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        report();
+    }
+
+    private void work(List<Target> targets, long measureFrom, long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            Target target = targets.get(random.nextInt(targets.size()));
+            UUID optionId = target.optionIds().get(random.nextInt(target.optionIds().size()));
+            HttpRequest request = voteRequest(UUID.randomUUID(), target.pollId(), optionId);
+            int status;
+            long sent = System.nanoTime();
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException ex) {
+                status = -1;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent);
+            if (now < measureFrom) {
+                continue;
+            }
+            if (status < 0) {
+                errors.increment();
+                continue;
+            }
+            latency.recordValue(Math.min(elapsedMicros, latency.getHighestTrackableValue()));
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+
+    private HttpRequest voteRequest(UUID userId, UUID pollId, UUID optionId) {
+        String token = jwtUtil.generateToken(userId.toString(), Map.of("uid", userId.toString(), "role", "USER"));
+        String body = "{\"pollId\":\"" + pollId + "\",\"optionId\":\"" + optionId + "\"}";
+        return HttpRequest.newBuilder(URI.create(gateway + "/votes"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private Target createPoll(int index) throws IOException, InterruptedException {
+        String creator = UUID.randomUUID().toString();
+        String token = jwtUtil.generateToken(creator, Map.of("uid", creator, "role", "ADMIN"));
+        List<String> optionTexts = new ArrayList<>();
+        for (int o = 0; o < options; o++) {
+            optionTexts.add("Option " + (o + 1));
+        }
+        String body = MAPPER.writeValueAsString(Map.of("title", "Load test poll " + index, "options", optionTexts));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(gateway + "/api/polls"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Creating a poll failed with " + response.statusCode() + ": " + response.body());
+        }
+        JsonNode poll = MAPPER.readTree(response.body());
+        List<UUID> optionIds = new ArrayList<>();
+        poll.get("options").forEach(option -> optionIds.add(UUID.fromString(option.get("id").asText())));
+        return new Target(UUID.fromString(poll.get("id").asText()), optionIds);
+    }
+
+    // The poll reaches voting-service's catalog through Kafka; until then votes get 422
+    private void awaitCatalog(Target target) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (System.nanoTime() < deadline) {
+            int status = client.send(voteRequest(UUID.randomUUID(), target.pollId(), target.optionIds().get(0)),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status == 202) {
+                return;
+            }
+            if (status != 422) {
+                throw new IllegalStateException("Probe vote for poll " + target.pollId() + " answered " + status);
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Poll " + target.pollId() + " did not reach voting-service within 60s");
+    }
+
+    private void report() {
+        double seconds = durationNanos / 1e9;
+        long accepted = statuses.getOrDefault(202, new LongAdder()).sum();
+        System.out.printf("requests:   %d (%.0f/s)%n", latency.getTotalCount(), latency.getTotalCount() / seconds);
+        System.out.printf("votes/sec:  %.0f accepted%n", accepted / seconds);
+        System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                latency.getValueAtPercentile(50) / 1000.0,
+                latency.getValueAtPercentile(90) / 1000.0,
+                latency.getValueAtPercentile(99) / 1000.0,
+                latency.getValueAtPercentile(99.9) / 1000.0,
+                latency.getMaxValue() / 1000.0);
+        Map<Integer, Long> byStatus = new TreeMap<>();
+        statuses.forEach((status, count) -> byStatus.put(status, count.sum()));
+        System.out.printf("statuses:   %s, connection errors: %d%n", byStatus, errors.sum());
+    }
+
+    private record Target(UUID pollId, List<UUID> optionIds) { }
+}
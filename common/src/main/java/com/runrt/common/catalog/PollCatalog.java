@@ -0,0 +1,206 @@
+package com.runrt.common.catalog;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.runrt.common.events.PollCreatedEvent;
+import com.runrt.common.serialization.CompactEventDeserializer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of valid poll to option ids, built from {@code polls-created-topic}. Each
+ * instance reads the (compacted) topic from the start with manually assigned partitions and no
+ * consumer group, so restarts leave nothing behind on the broker.
+ * <p>
+ * The catalog is ready once every partition has been read up to the end offset it had when the
+ * replay started; until then every vote passes. A poll the ready catalog does not know may simply
+ * be newer than the replay, so it is reported as {@link Check#UNVERIFIED} for the caller to look
+ * up at polls-service; callers record the answer with {@link #put} or {@link #markMissing}.
+ */
+@Slf4j
+public class PollCatalog implements AutoCloseable {
+
+    public enum Check { VALID, INVALID, UNKNOWN_POLL, UNKNOWN_OPTION, UNVERIFIED }
+
+    public static final String TOPIC = "polls-created-topic";
+
+    private static final int MAX_MISSING = 10_000;
+
+    private final Map<UUID, Set<UUID>> optionsByPoll = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> missingUntil = new ConcurrentHashMap<>();
+    private final Map<String, Object> consumerProps;
+    private final long missingTtlMillis;
+    private volatile boolean ready;
+    private volatile boolean running = true;
+    private volatile KafkaConsumer<String, PollCreatedEvent> consumer;
+    private Thread thread;
+
+    /**
+     * @param bootstrapServers Kafka bootstrap servers
+     * @param missingTtlMillis how long a poll polls-service did not know is rejected without asking again
+     */
+    public PollCatalog(String bootstrapServers, long missingTtlMillis) {
+        this.consumerProps = new HashMap<>();
+        consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        this.missingTtlMillis = missingTtlMillis;
+    }
+
+    /** Starts replaying the topic on a daemon thread. */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new Thread(this::run, "poll-catalog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Check check(UUID pollId, UUID optionId) {
+        if (pollId == null || optionId == null) {
+            return Check.INVALID;
+        }
+        if (!ready) {
+            return Check.VALID;
+        }
+        Set<UUID> optionIds = optionsByPoll.get(pollId);
+        if (optionIds == null) {
+            Long until = missingUntil.get(pollId);
+            return until != null && until > System.currentTimeMillis() ? Check.UNKNOWN_POLL : Check.UNVERIFIED;
+        }
+        return optionIds.contains(optionId) ? Check.VALID : Check.UNKNOWN_OPTION;
+    }
+
+    public void put(UUID pollId, Collection<UUID> optionIds) {
+        optionsByPoll.put(pollId, Set.copyOf(optionIds));
+        missingUntil.remove(pollId);
+    }
+
+    /**
+     * Adds a poll from polls-service's {@code GET /api/polls/{id}} representation.
+     */
+    public void put(JsonNode poll) {
+        Set<UUID> optionIds = new HashSet<>();
+        poll.path("options").forEach(option -> optionIds.add(UUID.fromString(option.get("id").asText())));
+        put(UUID.fromString(poll.get("id").asText()), optionIds);
+    }
+
+    /** Records that polls-service does not know the poll either. */
+    public void markMissing(UUID pollId) {
+        if (missingUntil.size() >= MAX_MISSING) {
+            long now = System.currentTimeMillis();
+            missingUntil.values().removeIf(until -> until <= now);
+            if (missingUntil.size() >= MAX_MISSING) {
+                missingUntil.clear();
+            }
+        }
+        missingUntil.put(pollId, System.currentTimeMillis() + missingTtlMillis);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        KafkaConsumer<String, PollCreatedEvent> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        Thread t = thread;
+        if (t != null) {
+            t.join(5000);
+        }
+    }
+
+    private void run() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try (KafkaConsumer<String, PollCreatedEvent> c = new KafkaConsumer<>(consumerProps,
+                    new StringDeserializer(), new CompactEventDeserializer<>(PollCreatedEvent.class))) {
+                consumer = c;
+                replay(c);
+            } catch (WakeupException ex) {
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                log.warn("Poll catalog consumer failed, restarting", ex);
+                sleepQuietly(1000);
+            }
+        }
+    }
+
+    private void replay(KafkaConsumer<String, PollCreatedEvent> c) throws InterruptedException {
+        List<TopicPartition> partitions = awaitPartitions(c);
+        c.assign(partitions);
+        c.seekToBeginning(partitions);
+        Map<TopicPartition, Long> endOffsets = new HashMap<>(c.endOffsets(partitions));
+        markReadyIfCaughtUp(c, endOffsets);
+        while (running) {
+            try {
+                for (ConsumerRecord<String, PollCreatedEvent> record : c.poll(Duration.ofMillis(500))) {
+                    apply(record.value());
+                }
+            } catch (RecordDeserializationException ex) {
+                log.warn("Skipping unreadable record {} at offset {}", ex.topicPartition(), ex.offset(), ex);
+                c.seek(ex.topicPartition(), ex.offset() + 1);
+            }
+            markReadyIfCaughtUp(c, endOffsets);
+        }
+    }
+
+    private List<TopicPartition> awaitPartitions(KafkaConsumer<String, PollCreatedEvent> c) throws InterruptedException {
+        while (running) {
+            List<PartitionInfo> infos = c.partitionsFor(TOPIC, Duration.ofSeconds(10));
+            if (infos != null && !infos.isEmpty()) {
+                return infos.stream().map(info -> new TopicPartition(info.topic(), info.partition())).toList();
+            }
+            Thread.sleep(1000);
+        }
+        throw new InterruptedException("Poll catalog closed");
+    }
+
+    private void markReadyIfCaughtUp(KafkaConsumer<String, PollCreatedEvent> c, Map<TopicPartition, Long> endOffsets) {
+        if (ready) {
+            return;
+        }
+        endOffsets.entrySet().removeIf(e -> c.position(e.getKey()) >= e.getValue());
+        if (endOffsets.isEmpty()) {
+            ready = true;
+            log.info("Poll catalog ready with {} polls", optionsByPoll.size());
+        }
+    }
+
+    private void apply(PollCreatedEvent event) {
+        if (event == null || event.getPollId() == null || event.getOptions() == null) {
+            return;
+        }
+        put(event.getPollId(), event.getOptions().stream().map(PollCreatedEvent.Option::getOptionId).toList());
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.runrt.common.dedup;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded in-memory record of recently processed ids, used as a cheap pre-check in front of a
+ * durable dedup store. A hit means the id was already processed; a miss means the durable store
+ * has to decide.
+ * <p>
+ * Ids are kept in two generations of {@code capacity / 2} entries each. When the current
+ * generation fills up it replaces the previous one, so the oldest half is dropped in O(1).
+ */
+public class RecentIdFilter {
+
+    private final int generationSize;
+    private final AtomicInteger currentSize = new AtomicInteger();
+    private volatile Set<UUID> current = ConcurrentHashMap.newKeySet();
+    private volatile Set<UUID> previous = ConcurrentHashMap.newKeySet();
+
+    public RecentIdFilter(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        this.generationSize = capacity / 2;
+    }
+
+    public boolean contains(UUID id) {
+        return current.contains(id) || previous.contains(id);
+    }
+
+    /**
+     * Remembers an id. Callers should only add ids once they are durably processed.
+     */
+    public void add(UUID id) {
+        if (current.add(id) && currentSize.incrementAndGet() >= generationSize) {
+            rotate();
+        }
+    }
+
+    private synchronized void rotate() {
+        if (currentSize.get() < generationSize) {
+            return;
+        }
+        previous = current;
+        current = ConcurrentHashMap.newKeySet();
+        currentSize.set(0);
+    }
+}
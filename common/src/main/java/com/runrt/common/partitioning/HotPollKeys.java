@@ -0,0 +1,109 @@
+package com.runrt.common.partitioning;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chooses the {@code votes-topic} record key of a vote. Votes are keyed by {@code pollId}, which
+ * keeps a poll on one partition and one consumer thread; for hot polls the key is salted as
+ * {@code pollId#shard}, with the shard derived from the vote id, so their votes spread over all
+ * partitions. Consumers must read the poll from the event (or {@link #pollId(String)}), never
+ * assume one partition holds a whole poll.
+ * <p>
+ * A poll is hot when it is pinned by configuration, or when this producer saw at least
+ * {@code votesPerSecond} of its votes within one second; it then stays hot for
+ * {@code holdMillis} after the last such second.
+ */
+public class HotPollKeys {
+
+    public static final char SEPARATOR = '#';
+
+    private final int shards;
+    private final long votesPerSecond;
+    private final long holdMillis;
+    private final Set<UUID> pinned;
+    private final Map<UUID, Rate> rates = new ConcurrentHashMap<>();
+    private final AtomicLong sweptSecond = new AtomicLong();
+
+    /**
+     * @param shards keys a hot poll is spread over; 1 or less disables salting
+     * @param votesPerSecond per-second rate that makes a poll hot; 0 or less only uses {@code pinned}
+     * @param holdMillis how long a poll stays hot after its rate last reached the threshold
+     * @param pinned polls that are always salted
+     */
+    public HotPollKeys(int shards, long votesPerSecond, long holdMillis, Collection<UUID> pinned) {
+        this.shards = shards;
+        this.votesPerSecond = votesPerSecond;
+        this.holdMillis = holdMillis;
+        this.pinned = Set.copyOf(pinned);
+    }
+
+    public static HotPollKeys disabled() {
+        return new HotPollKeys(1, 0, 0, Set.of());
+    }
+
+    /**
+     * Returns the record key for a vote and counts it towards the poll's rate.
+     */
+    public String key(UUID pollId, UUID voteId) {
+        if (shards <= 1 || !isHot(pollId)) {
+            return pollId.toString();
+        }
+        return pollId.toString() + SEPARATOR + Math.floorMod(voteId.hashCode(), shards);
+    }
+
+    /**
+     * The poll id of a (possibly salted) record key.
+     */
+    public static UUID pollId(String key) {
+        int separator = key.indexOf(SEPARATOR);
+        return UUID.fromString(separator < 0 ? key : key.substring(0, separator));
+    }
+
+    private boolean isHot(UUID pollId) {
+        if (pinned.contains(pollId)) {
+            return true;
+        }
+        if (votesPerSecond <= 0) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        sweep(now);
+        return rates.computeIfAbsent(pollId, id -> new Rate()).record(now, votesPerSecond, holdMillis);
+    }
+
+    // Once per second, forget polls that are neither hot nor voted on in the last second
+    private void sweep(long now) {
+        long second = now / 1000;
+        long last = sweptSecond.get();
+        if (second != last && sweptSecond.compareAndSet(last, second)) {
+            rates.values().removeIf(rate -> rate.idle(now));
+        }
+    }
+
+    private static final class Rate {
+        private long second;
+        private long count;
+        private long hotUntil;
+
+        synchronized boolean record(long now, long threshold, long hold) {
+            long current = now / 1000;
+            if (current != second) {
+                second = current;
+                count = 0;
+            }
+            if (++count >= threshold) {
+                hotUntil = now + hold;
+            }
+            return now < hotUntil;
+        }
+
+        synchronized boolean idle(long now) {
+            return now >= hotUntil && now / 1000 > second;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.runrt.common.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -14,10 +15,13 @@ import java.util.function.Function;
 public class JwtUtil {
     private final Key key;
     private final long expirationMs;
+    // Immutable and thread-safe; built once instead of per parse
+    private final JwtParser parser;
 
     public JwtUtil(String base64Secret, long expirationMs) {
         this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String extractUsername(String token) {
@@ -46,7 +50,7 @@ public class JwtUtil {
     }
 
     public Claims parseClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     private Claims extractAllClaims(String token) {
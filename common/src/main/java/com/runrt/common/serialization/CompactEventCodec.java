@@ -0,0 +1,169 @@
+package com.runrt.common.serialization;
+
+import com.runrt.common.events.PollCreatedEvent;
+import com.runrt.common.events.VoteRecordedEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fixed-layout binary encoding of the events in {@code com.runrt.common.events}.
+ * <pre>
+ * byte 0   format version ({@link #VERSION_1})
+ * byte 1   event type ({@link #TYPE_VOTE_RECORDED} or {@link #TYPE_POLL_CREATED})
+ *
+ * VoteRecordedEvent (78 bytes total)
+ *   voteId, pollId, optionId, userId   16 bytes each (msb, lsb)
+ *   timestamp                          8 bytes epoch seconds + 4 bytes nanos
+ *
+ * PollCreatedEvent
+ *   pollId                             16 bytes
+ *   title                              string
+ *   option count                       4 bytes, then per option: optionId (16 bytes), text (string)
+ *
+ * string: 4-byte UTF-8 length (-1 for null) followed by the bytes
+ * </pre>
+ * The version byte never collides with {@code '{'}, so readers can tell binary payloads from the
+ * JSON ones written before the switch.
+ */
+public final class CompactEventCodec {
+
+    public static final byte VERSION_1 = 1;
+    public static final byte TYPE_VOTE_RECORDED = 1;
+    public static final byte TYPE_POLL_CREATED = 2;
+
+    private static final int UUID_BYTES = 16;
+    private static final int HEADER_BYTES = 2;
+    private static final int VOTE_BYTES = HEADER_BYTES + 4 * UUID_BYTES + 8 + 4;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    private CompactEventCodec() {
+    }
+
+    public static boolean isCompact(byte[] data) {
+        return data != null && data.length >= HEADER_BYTES && data[0] == VERSION_1;
+    }
+
+    public static byte[] encode(Object event) {
+        if (event instanceof VoteRecordedEvent vote) {
+            return encodeVote(vote);
+        }
+        if (event instanceof PollCreatedEvent poll) {
+            return encodePoll(poll);
+        }
+        throw new IllegalArgumentException("Unsupported event type: " + (event == null ? null : event.getClass().getName()));
+    }
+
+    public static Object decode(byte[] data) {
+        if (!isCompact(data)) {
+            throw new IllegalArgumentException("Not a compact event payload");
+        }
+        ByteBuffer buf = ByteBuffer.wrap(data, HEADER_BYTES, data.length - HEADER_BYTES);
+        return switch (data[1]) {
+            case TYPE_VOTE_RECORDED -> decodeVote(buf);
+            case TYPE_POLL_CREATED -> decodePoll(buf);
+            default -> throw new IllegalArgumentException("Unknown event type " + data[1]);
+        };
+    }
+
+    private static byte[] encodeVote(VoteRecordedEvent event) {
+        ByteBuffer buf = ByteBuffer.allocate(VOTE_BYTES);
+        buf.put(VERSION_1).put(TYPE_VOTE_RECORDED);
+        putUuid(buf, event.getVoteId());
+        putUuid(buf, event.getPollId());
+        putUuid(buf, event.getOptionId());
+        putUuid(buf, event.getUserId());
+        Instant ts = event.getTimestamp();
+        buf.putLong(ts == null ? NULL_TIMESTAMP : ts.getEpochSecond());
+        buf.putInt(ts == null ? 0 : ts.getNano());
+        return buf.array();
+    }
+
+    private static VoteRecordedEvent decodeVote(ByteBuffer buf) {
+        UUID voteId = getUuid(buf);
+        UUID pollId = getUuid(buf);
+        UUID optionId = getUuid(buf);
+        UUID userId = getUuid(buf);
+        long seconds = buf.getLong();
+        int nanos = buf.getInt();
+        Instant ts = seconds == NULL_TIMESTAMP ? null : Instant.ofEpochSecond(seconds, nanos);
+        return new VoteRecordedEvent(voteId, pollId, optionId, userId, ts);
+    }
+
+    private static byte[] encodePoll(PollCreatedEvent event) {
+        byte[] title = utf8(event.getTitle());
+        List<PollCreatedEvent.Option> options = event.getOptions();
+        int optionCount = options == null ? -1 : options.size();
+        byte[][] texts = new byte[Math.max(optionCount, 0)][];
+        int size = HEADER_BYTES + UUID_BYTES + stringSize(title) + 4;
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = utf8(options.get(i).getText());
+            size += UUID_BYTES + stringSize(texts[i]);
+        }
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        buf.put(VERSION_1).put(TYPE_POLL_CREATED);
+        putUuid(buf, event.getPollId());
+        putString(buf, title);
+        buf.putInt(optionCount);
+        for (int i = 0; i < texts.length; i++) {
+            putUuid(buf, options.get(i).getOptionId());
+            putString(buf, texts[i]);
+        }
+        return buf.array();
+    }
+
+    private static PollCreatedEvent decodePoll(ByteBuffer buf) {
+        UUID pollId = getUuid(buf);
+        String title = getString(buf);
+        int optionCount = buf.getInt();
+        List<PollCreatedEvent.Option> options = null;
+        if (optionCount >= 0) {
+            options = new ArrayList<>(optionCount);
+            for (int i = 0; i < optionCount; i++) {
+                options.add(new PollCreatedEvent.Option(getUuid(buf), getString(buf)));
+            }
+        }
+        return new PollCreatedEvent(pollId, title, options);
+    }
+
+    private static void putUuid(ByteBuffer buf, UUID id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Compact events require non-null ids");
+        }
+        buf.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buf) {
+        return new UUID(buf.getLong(), buf.getLong());
+    }
+
+    private static byte[] utf8(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringSize(byte[] bytes) {
+        return 4 + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putString(ByteBuffer buf, byte[] bytes) {
+        if (bytes == null) {
+            buf.putInt(-1);
+        } else {
+            buf.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buf) {
+        int len = buf.getInt();
+        if (len < 0) {
+            return null;
+        }
+        String s = new String(buf.array(), buf.arrayOffset() + buf.position(), len, StandardCharsets.UTF_8);
+        buf.position(buf.position() + len);
+        return s;
+    }
+}
@@ -0,0 +1,62 @@
+package com.runrt.common.serialization;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kafka value deserializer for {@link CompactEventCodec} payloads. Payloads that are not in the
+ * compact format are read as the JSON written by Spring's {@code JsonSerializer}, using its
+ * {@code __TypeId__} header when present, so producers can be switched over one at a time.
+ */
+public class CompactEventDeserializer<T> implements Deserializer<T> {
+
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+    private static final String EVENTS_PACKAGE = "com.runrt.common.events.";
+
+    private final Class<T> targetType;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    public CompactEventDeserializer(Class<T> targetType) {
+        this.targetType = targetType;
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            if (CompactEventCodec.isCompact(data)) {
+                return targetType.cast(CompactEventCodec.decode(data));
+            }
+            return targetType.cast(objectMapper.readValue(data, jsonType(headers)));
+        } catch (Exception ex) {
+            throw new SerializationException("Can't deserialize event from topic " + topic, ex);
+        }
+    }
+
+    private Class<?> jsonType(Headers headers) throws ClassNotFoundException {
+        Header header = headers == null ? null : headers.lastHeader(TYPE_ID_HEADER);
+        if (header != null) {
+            String name = new String(header.value(), StandardCharsets.UTF_8);
+            if (name.startsWith(EVENTS_PACKAGE)) {
+                return Class.forName(name);
+            }
+        }
+        return targetType;
+    }
+}
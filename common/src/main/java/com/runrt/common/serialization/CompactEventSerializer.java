@@ -0,0 +1,22 @@
+package com.runrt.common.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka value serializer writing events with {@link CompactEventCodec}.
+ */
+public class CompactEventSerializer implements Serializer<Object> {
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return CompactEventCodec.encode(data);
+        } catch (IllegalArgumentException ex) {
+            throw new SerializationException("Can't serialize event for topic " + topic, ex);
+        }
+    }
+}
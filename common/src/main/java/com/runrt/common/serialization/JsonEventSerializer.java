@@ -0,0 +1,41 @@
+package com.runrt.common.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kafka value serializer writing events as the JSON of Spring's {@code JsonSerializer}, including
+ * its {@code __TypeId__} header, for producers without spring-kafka on the classpath.
+ */
+public class JsonEventSerializer implements Serializer<Object> {
+
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            if (headers != null) {
+                headers.remove(TYPE_ID_HEADER);
+                headers.add(TYPE_ID_HEADER, data.getClass().getName().getBytes(StandardCharsets.UTF_8));
+            }
+            return objectMapper.writeValueAsBytes(data);
+        } catch (Exception ex) {
+            throw new SerializationException("Can't serialize event for topic " + topic, ex);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.runrt.common.votes;
+
+import com.runrt.common.catalog.PollCatalog;
+
+/**
+ * Result of submitting a single vote, shared by voting-service and the gateway's fast path so
+ * both answer {@code POST /votes} with the same status and error code.
+ */
+public enum VoteOutcome {
+    ACCEPTED("accepted", 202),
+    INVALID_VOTE("invalid_vote", 400),
+    UNKNOWN_POLL("unknown_poll", 422),
+    UNKNOWN_OPTION("unknown_option", 422),
+    ALREADY_VOTED("already_voted", 409),
+    PAYLOAD_TOO_LARGE("payload_too_large", 413),
+    BUSY("busy", 429),
+    UNAVAILABLE("unavailable", 503);
+
+    private final String code;
+    private final int httpStatus;
+
+    VoteOutcome(String code, int httpStatus) {
+        this.code = code;
+        this.httpStatus = httpStatus;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public int httpStatus() {
+        return httpStatus;
+    }
+
+    /**
+     * The rejection for a catalog verdict, or {@code null} if the vote may go on to the voter
+     * claim. {@link PollCatalog.Check#UNVERIFIED} must be looked up at polls-service first.
+     */
+    public static VoteOutcome rejection(PollCatalog.Check check) {
+        return switch (check) {
+            case INVALID -> INVALID_VOTE;
+            case UNKNOWN_POLL -> UNKNOWN_POLL;
+            case UNKNOWN_OPTION -> UNKNOWN_OPTION;
+            case VALID -> null;
+            case UNVERIFIED -> throw new IllegalArgumentException("Poll must be looked up first");
+        };
+    }
+}
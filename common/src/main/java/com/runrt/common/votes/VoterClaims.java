@@ -0,0 +1,23 @@
+package com.runrt.common.votes;
+
+import java.util.UUID;
+
+/**
+ * The Redis side of the one-vote-per-user rule, used by voting-service and the gateway's fast
+ * path alike: a {@code poll:{id}:voters} set per poll, claimed through {@link #CLAIM_SCRIPT} so
+ * every claim also refreshes the set's expiry.
+ */
+public final class VoterClaims {
+
+    /** Classpath location of the claim script; see the script for its keys and arguments. */
+    public static final String CLAIM_SCRIPT = "scripts/claim-voters.lua";
+
+    /** Default lifetime of a voter set after its poll's last vote: 30 days. */
+    public static final long DEFAULT_TTL_SECONDS = 2_592_000;
+
+    private VoterClaims() { }
+
+    public static String votersKey(UUID pollId) {
+        return "poll:" + pollId + ":voters";
+    }
+}
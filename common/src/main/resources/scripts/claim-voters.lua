@@ -0,0 +1,12 @@
+-- Claims users' single vote in polls and keeps each touched voter set alive for the TTL.
+-- KEYS: per claim, the poll:{id}:voters set
+-- ARGV[1]: TTL in seconds, refreshed on every claim so a set lives as long as its poll gets votes
+-- ARGV[2..]: per claim, the user id
+-- Returns per claim: 1 if the user had not voted in the poll, 0 otherwise
+local ttl = ARGV[1]
+local result = {}
+for i = 1, #KEYS do
+  result[i] = redis.call('SADD', KEYS[i], ARGV[i + 1])
+  redis.call('EXPIRE', KEYS[i], ttl)
+end
+return result
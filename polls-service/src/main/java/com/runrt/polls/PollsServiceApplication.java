@@ -2,10 +2,12 @@ package com.runrt.polls;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import java.util.TimeZone;
 import java.time.ZoneId;
 
 @SpringBootApplication
+@EnableScheduling
 public class PollsServiceApplication {
     public static void main(String[] args) {
         // DEBUG: Check what timezone the JVM actually starts with
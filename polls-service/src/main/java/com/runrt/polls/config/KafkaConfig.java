@@ -1,5 +1,6 @@
 package com.runrt.polls.config;
 
+import com.runrt.common.serialization.CompactEventSerializer;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -21,12 +22,19 @@ public class KafkaConfig {
     @Value("${kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${runrt.events.encoding:json}")
+    private String eventEncoding;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                "json".equals(eventEncoding) ? JsonSerializer.class : CompactEventSerializer.class);
+        // OutboxRelay deletes rows once acknowledged, so require full acks and keep per-partition order on retry
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
@@ -37,6 +45,7 @@ public class KafkaConfig {
 
     @Bean
     public NewTopic pollsCreatedTopic() {
-        return TopicBuilder.name("polls-created-topic").partitions(3).replicas(1).build();
+        // Keyed by pollId and compacted, so consumers can rebuild their poll index by replaying it
+        return TopicBuilder.name("polls-created-topic").partitions(3).replicas(1).compact().build();
     }
 }
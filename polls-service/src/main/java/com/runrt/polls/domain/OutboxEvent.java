@@ -0,0 +1,35 @@
+package com.runrt.polls.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event waiting to be published, written in the same transaction as the change it describes.
+ * The identity id gives the publish order; {@code claimedUntil} is set while a relay is sending it.
+ */
+@Entity
+@Table(name = "poll_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID aggregateId;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant claimedUntil;
+}
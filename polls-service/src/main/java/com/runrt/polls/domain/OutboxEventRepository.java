@@ -0,0 +1,33 @@
+package com.runrt.polls.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Claims the oldest unclaimed (or expired) events for {@code leaseMs} in its own short
+     * transaction, so the caller can send them without holding row locks. SKIP LOCKED lets several
+     * replicas claim concurrently without taking the same row; the rows come back in no set order.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE poll_outbox SET claimed_until = now() + make_interval(secs => :leaseMs / 1000.0)
+            WHERE id IN (SELECT id FROM poll_outbox
+                         WHERE claimed_until IS NULL OR claimed_until < now()
+                         ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """, nativeQuery = true)
+    List<OutboxEvent> claimOldest(@Param("limit") int limit, @Param("leaseMs") long leaseMs);
+
+    /** Hands claimed events back for the next run. */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE poll_outbox SET claimed_until = NULL WHERE id IN (:ids)", nativeQuery = true)
+    int release(@Param("ids") Collection<Long> ids);
+}
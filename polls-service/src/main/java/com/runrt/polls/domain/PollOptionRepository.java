@@ -0,0 +1,14 @@
+package com.runrt.polls.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface PollOptionRepository extends JpaRepository<PollOption, UUID> {
+    @Query("SELECT new com.runrt.polls.domain.PollOptionRow(o.poll.id, o.id, o.text) FROM PollOption o WHERE o.poll.id IN :pollIds")
+    List<PollOptionRow> findRowsByPollIds(@Param("pollIds") Collection<UUID> pollIds);
+}
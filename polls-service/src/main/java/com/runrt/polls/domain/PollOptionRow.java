@@ -0,0 +1,6 @@
+package com.runrt.polls.domain;
+
+import java.util.UUID;
+
+public record PollOptionRow(UUID pollId, UUID id, String text) {
+}
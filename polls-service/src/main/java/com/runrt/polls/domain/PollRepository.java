@@ -1,13 +1,21 @@
 package com.runrt.polls.domain;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface PollRepository extends JpaRepository<Poll, UUID> {
     @Query("SELECT p FROM Poll p LEFT JOIN FETCH p.options WHERE p.id = :id")
     Optional<Poll> findByIdWithOptions(@Param("id") UUID id);
+
+    @Query("SELECT new com.runrt.polls.domain.PollSummary(p.id, p.title, p.createdBy) FROM Poll p ORDER BY p.id")
+    List<PollSummary> findFirstPage(Pageable page);
+
+    @Query("SELECT new com.runrt.polls.domain.PollSummary(p.id, p.title, p.createdBy) FROM Poll p WHERE p.id > :after ORDER BY p.id")
+    List<PollSummary> findPageAfter(@Param("after") UUID after, Pageable page);
 }
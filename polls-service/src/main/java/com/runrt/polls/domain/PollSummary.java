@@ -0,0 +1,9 @@
+package com.runrt.polls.domain;
+
+import java.util.UUID;
+
+/**
+ * Poll columns needed for listing, without the options association.
+ */
+public record PollSummary(UUID id, String title, String createdBy) {
+}
@@ -0,0 +1,44 @@
+package com.runrt.polls.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Evicts locally right away, then broadcasts the poll id on {@link #TOPIC}. Every replica reads
+ * the topic under its own consumer group, so each one (including this node) evicts the entry.
+ * Replicas that miss a message still converge once the entry's TTL expires.
+ */
+@Component
+@ConditionalOnProperty(name = "polls.cache.invalidation", havingValue = "kafka")
+@RequiredArgsConstructor
+@Slf4j
+public class KafkaPollCacheInvalidation implements PollCacheInvalidation {
+
+    public static final String TOPIC = "polls-cache-invalidation-topic";
+
+    private final PollReadCache readCache;
+    private final KafkaTemplate<String, String> invalidationKafkaTemplate;
+
+    @Override
+    public void invalidate(UUID pollId) {
+        readCache.evict(pollId);
+        invalidationKafkaTemplate.send(TOPIC, pollId.toString(), pollId.toString())
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.warn("Failed to broadcast cache invalidation for poll {}", pollId, ex);
+                    }
+                });
+    }
+
+    @KafkaListener(topics = TOPIC, groupId = "polls-cache-${random.uuid}",
+            containerFactory = "cacheInvalidationListenerContainerFactory")
+    public void onInvalidation(String pollId) {
+        readCache.evict(UUID.fromString(pollId));
+    }
+}
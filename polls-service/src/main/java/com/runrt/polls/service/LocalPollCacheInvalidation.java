@@ -0,0 +1,20 @@
+package com.runrt.polls.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "polls.cache.invalidation", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LocalPollCacheInvalidation implements PollCacheInvalidation {
+
+    private final PollReadCache readCache;
+
+    @Override
+    public void invalidate(UUID pollId) {
+        readCache.evict(pollId);
+    }
+}
@@ -0,0 +1,104 @@
+package com.runrt.polls.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.runrt.common.events.PollCreatedEvent;
+import com.runrt.polls.domain.OutboxEvent;
+import com.runrt.polls.domain.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains {@code poll_outbox} to {@code polls-created-topic}. A batch is claimed for
+ * {@code polls.outbox.claim-ttl-ms} in one short transaction, sent in id order keyed by poll id
+ * with no transaction open, and then, in a second short transaction, deleted up to the first send
+ * the broker did not acknowledge; the rest are released and retried on the next run. A relay
+ * that dies mid-batch leaves its claims to expire, so delivery is at-least-once.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    public static final String TOPIC = "polls-created-topic";
+
+    private final OutboxEventRepository outboxRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final long claimTtlMs;
+    private final Counter relayed;
+    private final Counter deferred;
+
+    public OutboxRelay(OutboxEventRepository outboxRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       MeterRegistry registry,
+                       @Value("${polls.outbox.batch-size:500}") int batchSize,
+                       @Value("${polls.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+                       @Value("${polls.outbox.claim-ttl-ms:30000}") long claimTtlMs) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.claimTtlMs = Math.max(claimTtlMs, sendTimeoutMs * 2);
+        this.relayed = Counter.builder("polls.outbox.relay").tag("result", "sent").register(registry);
+        this.deferred = Counter.builder("polls.outbox.relay").tag("result", "deferred").register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${polls.outbox.interval-ms:200}")
+    public void relay() {
+        List<OutboxEvent> batch = new ArrayList<>(outboxRepository.claimOldest(batchSize, claimTtlMs));
+        if (batch.isEmpty()) {
+            return;
+        }
+        batch.sort(Comparator.comparing(OutboxEvent::getId));
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        try {
+            for (OutboxEvent row : batch) {
+                PollCreatedEvent event = objectMapper.readValue(row.getPayload(), PollCreatedEvent.class);
+                sends.add(kafkaTemplate.send(TOPIC, row.getAggregateId().toString(), event));
+            }
+        } catch (Exception ex) {
+            log.warn("Outbox relay stopped after {} of {} sends", sends.size(), batch.size(), ex);
+        }
+
+        int delivered = 0;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (CompletableFuture<?> send : sends) {
+            try {
+                send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                delivered++;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException ex) {
+                log.warn("Outbox event {} not acknowledged, will retry", batch.get(delivered).getId(), ex);
+                break;
+            }
+        }
+
+        if (delivered > 0) {
+            outboxRepository.deleteAllByIdInBatch(batch.subList(0, delivered).stream().map(OutboxEvent::getId).toList());
+            relayed.increment(delivered);
+        }
+        if (delivered < batch.size()) {
+            outboxRepository.release(batch.subList(delivered, batch.size()).stream().map(OutboxEvent::getId).toList());
+            deferred.increment(batch.size() - delivered);
+        }
+    }
+}
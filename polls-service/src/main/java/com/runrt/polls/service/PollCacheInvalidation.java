@@ -0,0 +1,13 @@
+package com.runrt.polls.service;
+
+import java.util.UUID;
+
+/**
+ * Invalidates {@link PollReadCache} entries after a poll is created or changed. Selected with
+ * {@code polls.cache.invalidation}: {@code local} evicts on this node only; {@code kafka} also
+ * broadcasts the poll id so every polls-service replica evicts it.
+ */
+public interface PollCacheInvalidation {
+
+    void invalidate(UUID pollId);
+}
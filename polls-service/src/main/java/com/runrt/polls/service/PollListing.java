@@ -0,0 +1,75 @@
+package com.runrt.polls.service;
+
+import com.runrt.polls.domain.PollOptionRepository;
+import com.runrt.polls.domain.PollOptionRow;
+import com.runrt.polls.domain.PollRepository;
+import com.runrt.polls.domain.PollSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset pagination over polls ordered by id. Each page costs two queries regardless of size:
+ * one for the poll columns and one for the options of every poll on the page.
+ */
+@Component
+public class PollListing {
+
+    private final PollRepository pollRepository;
+    private final PollOptionRepository optionRepository;
+    private final int pageSize;
+
+    public PollListing(PollRepository pollRepository,
+                       PollOptionRepository optionRepository,
+                       @Value("${polls.list.page-size:50}") int pageSize) {
+        this.pollRepository = pollRepository;
+        this.optionRepository = optionRepository;
+        this.pageSize = pageSize;
+    }
+
+    public record OptionView(UUID id, String text) {
+    }
+
+    public record PollView(UUID id, String title, String createdBy, List<OptionView> options) {
+    }
+
+    /**
+     * @param nextCursor pass as {@code after} to fetch the following page; {@code null} on the last page
+     */
+    public record Page(List<PollView> items, UUID nextCursor) {
+    }
+
+    /**
+     * @param after id of the last poll on the previous page, or {@code null} for the first page
+     */
+    public Page page(UUID after) {
+        // One extra row tells us whether another page exists without a count query
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+        List<PollSummary> polls = after == null
+                ? pollRepository.findFirstPage(limit)
+                : pollRepository.findPageAfter(after, limit);
+        boolean more = polls.size() > pageSize;
+        if (more) {
+            polls = polls.subList(0, pageSize);
+        }
+        if (polls.isEmpty()) {
+            return new Page(List.of(), null);
+        }
+
+        Map<UUID, List<OptionView>> options = optionRepository
+                .findRowsByPollIds(polls.stream().map(PollSummary::id).toList())
+                .stream()
+                .collect(Collectors.groupingBy(PollOptionRow::pollId,
+                        Collectors.mapping(row -> new OptionView(row.id(), row.text()), Collectors.toList())));
+
+        List<PollView> items = polls.stream()
+                .map(p -> new PollView(p.id(), p.title(), p.createdBy(), options.getOrDefault(p.id(), List.of())))
+                .toList();
+        return new Page(items, more ? items.get(items.size() - 1).id() : null);
+    }
+}
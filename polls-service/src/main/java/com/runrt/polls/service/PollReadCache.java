@@ -0,0 +1,80 @@
+package com.runrt.polls.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of serialized poll responses for {@code GET /api/polls} and
+ * {@code GET /api/polls/{id}}. Entries hold the JSON bytes, so hits skip both the query and
+ * Jackson. Writes go through {@link PollCacheInvalidation} rather than calling {@link #evict}.
+ */
+@Component
+public class PollReadCache {
+
+    /**
+     * Cache key for one listing page; {@code after} is null for the first page. Pages of older
+     * generations are never read again and age out with the TTL.
+     */
+    private record ListKey(long generation, UUID after) {
+    }
+
+    private final Cache<Object, byte[]> cache;
+    // Taken before a page loads, so a load that raced an eviction fills a key nobody reads
+    private final AtomicLong listGeneration = new AtomicLong();
+    private final ObjectMapper objectMapper;
+
+    public PollReadCache(ObjectMapper objectMapper,
+                         MeterRegistry registry,
+                         @Value("${polls.cache.max-entries:10000}") long maxEntries,
+                         @Value("${polls.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "polls.read");
+    }
+
+    /**
+     * @return the cached JSON for the poll, or {@code null} if the loader finds nothing (not cached)
+     */
+    public byte[] poll(UUID id, Supplier<Object> loader) {
+        return cache.get(id, key -> serialize(loader.get()));
+    }
+
+    public byte[] list(UUID after, Supplier<Object> loader) {
+        return cache.get(new ListKey(listGeneration.get(), after), key -> serialize(loader.get()));
+    }
+
+    /**
+     * Drops the poll and every cached listing page on this node only.
+     */
+    public void evict(UUID id) {
+        cache.invalidate(id);
+        listGeneration.incrementAndGet();
+    }
+
+    private byte[] serialize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.runrt.polls.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.runrt.common.events.PollCreatedEvent;
+import com.runrt.polls.domain.OutboxEvent;
+import com.runrt.polls.domain.OutboxEventRepository;
+import com.runrt.polls.domain.Poll;
+import com.runrt.polls.domain.PollOption;
+import com.runrt.polls.domain.PollRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class PollService {
+
+    private final PollRepository repository;
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Saves the poll and its {@link PollCreatedEvent} together; {@link OutboxRelay} publishes the
+     * event once the transaction has committed.
+     */
+    @Transactional
+    public Poll create(String title, List<String> optionTexts, String createdBy) {
+        Poll poll = new Poll();
+        poll.setTitle(title);
+        poll.setCreatedBy(createdBy);
+        List<PollOption> options = optionTexts.stream().map(text -> {
+            PollOption opt = new PollOption();
+            opt.setText(text);
+            opt.setPoll(poll);
+            return opt;
+        }).collect(Collectors.toList());
+        poll.setOptions(options);
+        Poll saved = repository.save(poll);
+
+        PollCreatedEvent event = new PollCreatedEvent(
+                saved.getId(),
+                saved.getTitle(),
+                saved.getOptions().stream().map(o -> new PollCreatedEvent.Option(o.getId(), o.getText())).toList()
+        );
+        outboxRepository.save(OutboxEvent.builder()
+                .aggregateId(saved.getId())
+                .payload(toJson(event))
+                .createdAt(Instant.now())
+                .build());
+        return saved;
+    }
+
+    private String toJson(PollCreatedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -1,18 +1,19 @@
 package com.runrt.polls.web;
 
-import com.runrt.common.events.PollCreatedEvent;
 import com.runrt.polls.domain.Poll;
-import com.runrt.polls.domain.PollOption;
 import com.runrt.polls.domain.PollRepository;
+import com.runrt.polls.service.PollCacheInvalidation;
+import com.runrt.polls.service.PollListing;
+import com.runrt.polls.service.PollReadCache;
+import com.runrt.polls.service.PollService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/polls")
@@ -21,36 +22,25 @@ import java.util.stream.Collectors;
 public class PollController {
 
     private final PollRepository repository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final PollService pollService;
+    private final PollListing listing;
+    private final PollReadCache readCache;
+    private final PollCacheInvalidation cacheInvalidation;
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody CreatePollRequest req, @RequestHeader(value = "X-User-Id", required = false) String userId) {
-        Poll poll = new Poll();
-        poll.setTitle(req.getTitle());
-        poll.setCreatedBy(userId != null ? userId : "anonymous");
-        List<PollOption> options = req.getOptions().stream().map(text -> {
-            PollOption opt = new PollOption();
-            opt.setText(text);
-            opt.setPoll(poll);
-            return opt;
-        }).collect(Collectors.toList());
-        poll.setOptions(options);
-        Poll saved = repository.save(poll);
-
-        PollCreatedEvent event = new PollCreatedEvent(
-                saved.getId(),
-                saved.getTitle(),
-                saved.getOptions().stream().map(o -> new PollCreatedEvent.Option(o.getId(), o.getText())).toList()
-        );
-        kafkaTemplate.send("polls-created-topic", saved.getId().toString(), event);
+        Poll saved = pollService.create(req.getTitle(), req.getOptions(), userId != null ? userId : "anonymous");
+        cacheInvalidation.invalidate(saved.getId());
         return ResponseEntity.ok(saved);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> get(@PathVariable UUID id) {
-        return repository.findByIdWithOptions(id)
-                .<ResponseEntity<?>>map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+        byte[] body = readCache.poll(id, () -> repository.findByIdWithOptions(id).orElse(null));
+        if (body == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @PutMapping("/{id}")
@@ -59,14 +49,16 @@ public class PollController {
                 .map(poll -> {
                     poll.setTitle(req.getTitle());
                     Poll updated = repository.save(poll);
+                    cacheInvalidation.invalidate(id);
                     return ResponseEntity.ok(updated);
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping
-    public List<Poll> list() {
-        return repository.findAll();
+    public ResponseEntity<byte[]> list(@RequestParam(required = false) UUID after) {
+        byte[] body = readCache.list(after, () -> listing.page(after));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @Data
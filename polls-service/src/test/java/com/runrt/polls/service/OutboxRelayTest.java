@@ -0,0 +1,123 @@
+package com.runrt.polls.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.runrt.common.events.PollCreatedEvent;
+import com.runrt.polls.domain.OutboxEvent;
+import com.runrt.polls.domain.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.NetworkException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Kills the broker part way through a batch and checks that every outbox row still reaches Kafka,
+ * in order, and that a row is only deleted after its send was acknowledged.
+ */
+class OutboxRelayTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, OutboxEvent> outbox = new TreeMap<>();
+    private final Set<Long> claimed = new HashSet<>();
+    private final List<UUID> published = new ArrayList<>();
+    private final AtomicInteger sendsBeforeOutage = new AtomicInteger(Integer.MAX_VALUE);
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        OutboxEventRepository repository = mock(OutboxEventRepository.class);
+        when(repository.claimOldest(anyInt(), anyLong())).thenAnswer(call -> {
+            int limit = call.getArgument(0);
+            // Postgres returns UPDATE ... RETURNING rows in no set order
+            return outbox.values().stream()
+                    .filter(row -> claimed.add(row.getId()))
+                    .limit(limit)
+                    .sorted(Comparator.comparing(OutboxEvent::getId).reversed())
+                    .toList();
+        });
+        when(repository.release(anyCollection())).thenAnswer(call -> {
+            Collection<Long> ids = call.getArgument(0);
+            claimed.removeAll(ids);
+            return ids.size();
+        });
+        doAnswer(call -> {
+            Collection<Long> ids = call.getArgument(0);
+            ids.forEach(id -> {
+                assertThat(published).contains(outbox.get(id).getAggregateId());
+                outbox.remove(id);
+                claimed.remove(id);
+            });
+            return null;
+        }).when(repository).deleteAllByIdInBatch(any());
+
+        KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(eq(OutboxRelay.TOPIC), anyString(), any())).thenAnswer(call -> {
+            if (sendsBeforeOutage.getAndDecrement() <= 0) {
+                return CompletableFuture.failedFuture(new NetworkException("broker down"));
+            }
+            published.add(((PollCreatedEvent) call.getArgument(2)).getPollId());
+            return CompletableFuture.completedFuture(mock(SendResult.class));
+        });
+
+        relay = new OutboxRelay(repository, kafkaTemplate, objectMapper, new SimpleMeterRegistry(), 100, 1000, 30000);
+    }
+
+    @Test
+    void brokerDyingMidBatchLosesNothing() throws Exception {
+        List<UUID> polls = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            polls.add(addRow(id));
+        }
+
+        sendsBeforeOutage.set(2);
+        relay.relay();
+
+        assertThat(published).containsExactlyElementsOf(polls.subList(0, 2));
+        assertThat(outbox).containsOnlyKeys(3L, 4L, 5L);
+        assertThat(claimed).isEmpty();
+
+        relay.relay();
+        assertThat(outbox).containsOnlyKeys(3L, 4L, 5L);
+
+        sendsBeforeOutage.set(Integer.MAX_VALUE);
+        relay.relay();
+
+        assertThat(published).containsExactlyElementsOf(polls);
+        assertThat(outbox).isEmpty();
+    }
+
+    private UUID addRow(long id) throws Exception {
+        UUID pollId = UUID.randomUUID();
+        PollCreatedEvent event = new PollCreatedEvent(pollId, "Poll " + id,
+                List.of(new PollCreatedEvent.Option(UUID.randomUUID(), "Yes")));
+        outbox.put(id, new OutboxEvent(id, pollId, objectMapper.writeValueAsString(event), Instant.now(), null));
+        return pollId;
+    }
+}
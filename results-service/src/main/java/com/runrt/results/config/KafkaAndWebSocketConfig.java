@@ -2,14 +2,19 @@ package com.runrt.results.config;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import com.runrt.common.dedup.RecentIdFilter;
 import com.runrt.common.events.VoteRecordedEvent;
+import com.runrt.common.serialization.CompactEventDeserializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -26,28 +31,50 @@ public class KafkaAndWebSocketConfig implements WebSocketMessageBrokerConfigurer
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${results.consumer.max-poll-records:1000}")
+    private int maxPollRecords;
+
+    @Value("${results.consumer.concurrency:1}")
+    private int consumerConcurrency;
+
+    @Value("${results.dedup.recent-ids:200000}")
+    private int recentVoteIds;
+
     @Bean
     public ConsumerFactory<String, VoteRecordedEvent> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "results-service");
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-
-        // Configure JsonDeserializer via setter methods only (not via props)
-        JsonDeserializer<VoteRecordedEvent> jsonDeserializer = new JsonDeserializer<>(VoteRecordedEvent.class);
-        jsonDeserializer.addTrustedPackages("*");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
 
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), jsonDeserializer);
+        // Reads both compact and legacy JSON events
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new CompactEventDeserializer<>(VoteRecordedEvent.class));
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, VoteRecordedEvent> voteEventKafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, VoteRecordedEvent> voteEventKafkaListenerContainerFactory(Environment environment) {
         ConcurrentKafkaListenerContainerFactory<String, VoteRecordedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        // Hot polls are salted over every partition; counters stay exact since Redis applies each batch atomically
+        factory.setConcurrency(consumerConcurrency);
+        // ResultsListener folds each poll cycle into one Redis call; offsets commit after it returns.
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("results-consumer-");
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
         return factory;
     }
 
+    @Bean
+    public RecentIdFilter recentVoteFilter() {
+        return new RecentIdFilter(recentVoteIds);
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.enableSimpleBroker("/topic");
@@ -0,0 +1,24 @@
+package com.runrt.results.config;
+
+import com.runrt.results.service.RedisResultsFanout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@ConditionalOnProperty(name = "results.fanout.mode", havingValue = "redis")
+public class RedisFanoutConfig {
+
+    @Bean
+    public RedisMessageListenerContainer resultsFanoutListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        RedisResultsFanout fanout) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(fanout, new ChannelTopic(RedisResultsFanout.CHANNEL));
+        container.addMessageListener(fanout, new ChannelTopic(RedisResultsFanout.TRENDS_CHANNEL));
+        return container;
+    }
+}
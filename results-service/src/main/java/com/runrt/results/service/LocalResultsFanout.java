@@ -0,0 +1,24 @@
+package com.runrt.results.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "results.fanout.mode", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LocalResultsFanout implements ResultsFanout {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Override
+    public void publish(PollResults snapshot) {
+        messagingTemplate.convertAndSend(ResultsFanout.destination(snapshot), snapshot);
+    }
+
+    @Override
+    public void publishTrends(PollTrends trends) {
+        messagingTemplate.convertAndSend(ResultsFanout.destination(trends), trends);
+    }
+}
@@ -0,0 +1,15 @@
+package com.runrt.results.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Full tally of a poll as sent to clients: every option's count plus the total.
+ */
+public record PollResults(UUID pollId, Map<UUID, Long> results, long totalVotes, Instant timestamp) {
+
+    public static PollResults empty(UUID pollId) {
+        return new PollResults(pollId, Map.of(), 0, Instant.now());
+    }
+}
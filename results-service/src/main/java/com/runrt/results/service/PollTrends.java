@@ -0,0 +1,22 @@
+package com.runrt.results.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Recent vote activity of a poll, per option. {@code perSecond} holds the last 60 one-second
+ * windows and {@code perMinute} the last 60 one-minute windows, oldest first, the last entry
+ * being the (still open) window containing {@code asOf}. {@code lastMinute} is the sliding sum
+ * of the last 60 seconds.
+ */
+public record PollTrends(UUID pollId,
+                         Instant asOf,
+                         Map<UUID, Long> lastMinute,
+                         Map<UUID, long[]> perSecond,
+                         Map<UUID, long[]> perMinute) {
+
+    public static PollTrends empty(UUID pollId) {
+        return new PollTrends(pollId, Instant.now(), Map.of(), Map.of(), Map.of());
+    }
+}
@@ -0,0 +1,88 @@
+package com.runrt.results.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Publishes snapshots to a Redis channel that every replica (including this one) subscribes to.
+ * On receipt a node merges the counts into its own {@link TallyStore}, so REST reads and
+ * subscribe snapshots agree across nodes, then sends the frame to its local subscribers.
+ * <p>
+ * Trends are relayed as this node's part, tagged with a per-instance id; receivers keep the
+ * latest part of every other node and send their merged {@link VoteTrends} view instead.
+ */
+@Component
+@ConditionalOnProperty(name = "results.fanout.mode", havingValue = "redis")
+@RequiredArgsConstructor
+@Slf4j
+public class RedisResultsFanout implements ResultsFanout, MessageListener {
+
+    public static final String CHANNEL = "results:broadcast";
+    public static final String TRENDS_CHANNEL = "results:trends";
+
+    private final StringRedisTemplate redisTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TallyStore tallyStore;
+    private final VoteTrends voteTrends;
+    private final ObjectMapper objectMapper;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Override
+    public void publish(PollResults snapshot) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(snapshot));
+        } catch (Exception ex) {
+            log.error("Failed to relay results for poll {}", snapshot.pollId(), ex);
+        }
+    }
+
+    @Override
+    public void publishTrends(PollTrends trends) {
+        try {
+            redisTemplate.convertAndSend(TRENDS_CHANNEL, objectMapper.writeValueAsString(new TrendsPart(instanceId, trends)));
+        } catch (Exception ex) {
+            log.error("Failed to relay trends for poll {}", trends.pollId(), ex);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (TRENDS_CHANNEL.equals(new String(message.getChannel(), StandardCharsets.UTF_8))) {
+            onTrends(message);
+            return;
+        }
+        try {
+            PollResults snapshot = objectMapper.readValue(message.getBody(), PollResults.class);
+            snapshot.results().forEach((optionId, count) -> tallyStore.applyOption(snapshot.pollId(), optionId, count));
+            tallyStore.applyTotal(snapshot.pollId(), snapshot.totalVotes());
+            messagingTemplate.convertAndSend(ResultsFanout.destination(snapshot), snapshot);
+        } catch (Exception ex) {
+            log.error("Failed to deliver relayed results", ex);
+        }
+    }
+
+    private void onTrends(Message message) {
+        try {
+            TrendsPart part = objectMapper.readValue(message.getBody(), TrendsPart.class);
+            if (!instanceId.equals(part.source())) {
+                voteTrends.remember(part.source(), part.trends());
+            }
+            PollTrends merged = voteTrends.snapshot(part.trends().pollId());
+            messagingTemplate.convertAndSend(ResultsFanout.destination(merged), merged);
+        } catch (Exception ex) {
+            log.error("Failed to deliver relayed trends", ex);
+        }
+    }
+
+    record TrendsPart(String source, PollTrends trends) { }
+}
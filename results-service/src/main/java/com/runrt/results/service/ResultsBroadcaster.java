@@ -0,0 +1,67 @@
+package com.runrt.results.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends at most one full snapshot per poll every {@code results.broadcast.interval-ms}, and only
+ * for polls that received votes since the last tick.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ResultsBroadcaster {
+
+    private final ResultsFanout fanout;
+    private final TallyStore tallyStore;
+    private final VoteTrends voteTrends;
+    private final Set<UUID> dirtyPolls = ConcurrentHashMap.newKeySet();
+
+    public void markDirty(UUID pollId) {
+        dirtyPolls.add(pollId);
+    }
+
+    @Scheduled(fixedRateString = "${results.broadcast.interval-ms:200}")
+    public void flush() {
+        for (Iterator<UUID> it = dirtyPolls.iterator(); it.hasNext(); ) {
+            UUID pollId = it.next();
+            it.remove();
+            PollResults snapshot = tallyStore.snapshot(pollId);
+            if (snapshot == null) {
+                continue;
+            }
+            try {
+                fanout.publish(snapshot);
+                log.debug("Results published for poll {} => {}", pollId, snapshot);
+            } catch (Exception ex) {
+                log.error("Failed to broadcast results for poll {}", pollId, ex);
+            }
+        }
+    }
+
+    /**
+     * Pushes trends of every poll with votes in the last minute; once a poll goes quiet it gets
+     * one final push showing the empty window.
+     */
+    @Scheduled(fixedRateString = "${results.trends.push-interval-ms:1000}")
+    public void flushTrends() {
+        for (UUID pollId : voteTrends.activePolls()) {
+            PollTrends trends = voteTrends.localSnapshot(pollId);
+            if (trends == null) {
+                continue;
+            }
+            try {
+                fanout.publishTrends(trends);
+            } catch (Exception ex) {
+                log.error("Failed to broadcast trends for poll {}", pollId, ex);
+            }
+        }
+    }
+}
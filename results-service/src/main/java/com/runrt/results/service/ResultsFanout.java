@@ -0,0 +1,25 @@
+package com.runrt.results.service;
+
+/**
+ * Delivers result snapshots to WebSocket subscribers. Selected with {@code results.fanout.mode}:
+ * {@code local} sends through this node's broker only; {@code redis} relays every snapshot
+ * over Redis pub/sub so subscribers on all results-service replicas receive it.
+ */
+public interface ResultsFanout {
+
+    void publish(PollResults snapshot);
+
+    /**
+     * @param trends this node's part of the poll's trends; parts of nodes sharing a hot poll are
+     *               merged by {@link VoteTrends#snapshot} before reaching subscribers
+     */
+    void publishTrends(PollTrends trends);
+
+    static String destination(PollResults snapshot) {
+        return "/topic/poll-results/" + snapshot.pollId();
+    }
+
+    static String destination(PollTrends trends) {
+        return "/topic/poll-results/" + trends.pollId() + "/trends";
+    }
+}
@@ -1,44 +1,76 @@
 package com.runrt.results.service;
 
+import com.runrt.common.dedup.RecentIdFilter;
 import com.runrt.common.events.VoteRecordedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ResultsListener {
 
+    /** Container id, so {@link TallyRebuilder} can pause live consumption while it swaps counters. */
+    public static final String LISTENER_ID = "results-votes";
+
+    /** Dedups and applies a whole {@link VoteBatch} in one atomic call. */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TALLY_VOTES =
+            RedisScript.of(new ClassPathResource("scripts/tally-votes.lua"), List.class);
+
     private final StringRedisTemplate redisTemplate;
-    private final SimpMessagingTemplate messagingTemplate;
-
-    @KafkaListener(topics = "votes-topic", groupId = "results-service", containerFactory = "voteEventKafkaListenerContainerFactory")
-    public void handleVote(VoteRecordedEvent event) {
-        try {
-            log.info("Kafka vote received: pollId={}, optionId={}", event.getPollId(), event.getOptionId());
-
-            String pollKey = "poll:" + event.getPollId();
-            String optionKey = pollKey + ":option:" + event.getOptionId();
-            redisTemplate.opsForValue().increment(pollKey + ":total");
-            Long optionCount = redisTemplate.opsForValue().increment(optionKey);
-
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("pollId", event.getPollId());
-            payload.put("optionId", event.getOptionId());
-            payload.put("optionCount", optionCount == null ? 0L : optionCount);
-
-            String destination = "/topic/poll-results/" + event.getPollId();
-            messagingTemplate.convertAndSend(destination, payload);
-            log.info("WS sent to {} => {}", destination, payload);
-        } catch (Exception ex) {
-            log.error("Failed to process vote event", ex);
+    private final TallyStore tallyStore;
+    private final ResultsBroadcaster broadcaster;
+    private final RecentIdFilter recentVoteFilter;
+    private final VoteTrends voteTrends;
+
+    @Value("${results.dedup.ttl-seconds:86400}")
+    private long dedupTtlSeconds;
+
+    /**
+     * Exceptions propagate so the container redelivers the batch; the script makes that safe.
+     */
+    @KafkaListener(id = LISTENER_ID, topics = "votes-topic", groupId = "results-service", containerFactory = "voteEventKafkaListenerContainerFactory")
+    public void handleVotes(List<VoteRecordedEvent> events) {
+        VoteBatch batch = VoteBatch.of(events, recentVoteFilter);
+        log.debug("Kafka vote batch received: {} records, {} new", events.size(), batch.voteIds().size());
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<?> result = redisTemplate.execute(TALLY_VOTES, batch.scriptKeys(), (Object[]) batch.scriptArgs(dedupTtlSeconds));
+        batch.voteIds().forEach(recentVoteFilter::add);
+
+        // Only votes the script counted feed the trends; redelivered ones were counted before
+        Set<UUID> applied = new HashSet<>();
+        List<VoteBatch.OptionKey> groups = batch.groups();
+        int at = 0;
+        for (VoteBatch.OptionKey key : groups) {
+            long accepted = ((Number) result.get(at)).longValue();
+            long optionCount = ((Number) result.get(at + 1)).longValue();
+            long total = ((Number) result.get(at + 2)).longValue();
+            at += 3;
+            for (long i = 0; i < accepted; i++) {
+                applied.add(UUID.fromString(String.valueOf(result.get(at++))));
+            }
+            if (accepted > 0) {
+                tallyStore.apply(key.pollId(), key.optionId(), optionCount, total);
+                broadcaster.markDirty(key.pollId());
+            }
+        }
+        if (!applied.isEmpty()) {
+            voteTrends.record(batch.events(applied));
         }
     }
 }
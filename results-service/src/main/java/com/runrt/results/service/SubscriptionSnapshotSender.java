@@ -0,0 +1,65 @@
+package com.runrt.results.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.util.UUID;
+
+/**
+ * Pushes the current tally to a session as soon as it subscribes to
+ * {@code /topic/poll-results/{pollId}}, on that same subscription, so late joiners do not have to
+ * wait for the next broadcast or poll the REST API.
+ */
+@Component
+@Slf4j
+public class SubscriptionSnapshotSender {
+
+    private static final String RESULTS_PREFIX = "/topic/poll-results/";
+
+    private final TallyStore tallyStore;
+    private final SimpMessagingTemplate sessionTemplate;
+
+    public SubscriptionSnapshotSender(TallyStore tallyStore,
+                                      @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                                      @Qualifier("brokerMessageConverter") MessageConverter brokerMessageConverter) {
+        this.tallyStore = tallyStore;
+        // Bypasses the broker: messages go straight to the subscribing session only.
+        this.sessionTemplate = new SimpMessagingTemplate(clientOutboundChannel);
+        this.sessionTemplate.setMessageConverter(brokerMessageConverter);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith(RESULTS_PREFIX) || !tallyStore.isLoaded()) {
+            return;
+        }
+        UUID pollId;
+        try {
+            pollId = UUID.fromString(destination.substring(RESULTS_PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            return;
+        }
+        PollResults snapshot = tallyStore.snapshot(pollId);
+
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(accessor.getSessionId());
+        headers.setSubscriptionId(accessor.getSubscriptionId());
+        headers.setLeaveMutable(true);
+        try {
+            sessionTemplate.convertAndSend(destination, snapshot != null ? snapshot : PollResults.empty(pollId), headers.getMessageHeaders());
+        } catch (Exception ex) {
+            log.warn("Failed to send initial results for poll {} to session {}", pollId, accessor.getSessionId(), ex);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.runrt.results.service;
+
+import java.util.UUID;
+
+/**
+ * Redis keys of the vote counters. A full rebuild writes a new generation of counters under
+ * {@code tallies:{generation}:} and then flips {@link #GENERATION} to it, so readers see either
+ * the old or the new counters, never a mix. Without the pointer the counters are unprefixed.
+ */
+public final class TallyKeys {
+
+    public static final String GENERATION = "tallies:generation";
+
+    private TallyKeys() {
+    }
+
+    /** Key prefix of the counters of {@code generation}, which may be {@code null} (unprefixed). */
+    public static String prefix(String generation) {
+        return generation == null ? "" : "tallies:" + generation + ":";
+    }
+
+    public static String option(String prefix, UUID pollId, UUID optionId) {
+        return prefix + "poll:" + pollId + ":option:" + optionId;
+    }
+
+    public static String total(String prefix, UUID pollId) {
+        return prefix + "poll:" + pollId + ":total";
+    }
+}
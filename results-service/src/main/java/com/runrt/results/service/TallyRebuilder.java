@@ -0,0 +1,340 @@
+package com.runrt.results.service;
+
+import com.runrt.common.dedup.RecentIdFilter;
+import com.runrt.common.events.VoteRecordedEvent;
+import com.runrt.common.serialization.CompactEventDeserializer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Recomputes every vote counter by replaying {@code votes-topic} and swaps the result into Redis
+ * and {@link TallyStore}, e.g. after Redis was flushed. Kafka is the only source: the replay stops
+ * at the offsets the live consumer group has committed, which is exactly where it resumes, so
+ * every vote is either in the rebuilt counters or still ahead of the consumer. Live consumption on
+ * this node is paused for the duration; other results-service replicas should be stopped while it
+ * runs.
+ * <p>
+ * A full replay reads each partition on its own consumer, drops redelivered votes within a bounded
+ * window per partition (records are keyed by poll and vote, so copies of a vote share a partition)
+ * and writes the {@code vote:seen} markers of what it counted. The counters are written as a new
+ * {@link TallyKeys} generation and published by flipping the generation pointer, so readers never
+ * see a mix of old and new counters; the old generation is deleted afterwards. A replay from given
+ * offsets covers only part of the log, so instead it is applied like live traffic through
+ * {@link ResultsListener}, whose markers skip votes that are already counted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TallyRebuilder {
+
+    /**
+     * @param partial whether only part of the log was replayed and applied onto the existing counters
+     */
+    public record Report(boolean partial, long votes, long counters, long elapsedMs) { }
+
+    private static final String TOPIC = "votes-topic";
+    private static final String GROUP = "results-service";
+    private static final int FETCH_SIZE = 10_000;
+    private static final int MARKER_CHUNK = 10_000;
+    private static final int SWAP_CHUNK = 10_000;
+    private static final int APPLY_CHUNK = 1_000;
+    private static final long PAUSE_TIMEOUT_MS = 30_000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final TallyStore tallyStore;
+    private final ResultsBroadcaster broadcaster;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final ResultsListener resultsListener;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${results.dedup.ttl-seconds:86400}")
+    private long dedupTtlSeconds;
+
+    @Value("${results.rebuild.dedup-window:200000}")
+    private int dedupWindow;
+
+    /**
+     * @param fromOffsets first offset to replay per partition; partitions not listed are skipped. {@code null} replays the whole log and replaces all
+     *                    counters; otherwise the range is applied onto the existing counters.
+     * @return the report, or empty if another rebuild is already running
+     */
+    public Optional<Report> rebuild(Map<Integer, Long> fromOffsets) throws Exception {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(ResultsListener.LISTENER_ID);
+        long started = System.currentTimeMillis();
+        try {
+            pause(container);
+            Report report;
+            if (fromOffsets != null) {
+                long votes = applyKafka(fromOffsets);
+                report = new Report(true, votes, 0, System.currentTimeMillis() - started);
+            } else {
+                Tallies tallies = new Tallies();
+                long votes = replayKafka(tallies);
+                long counters = swap(tallies);
+                tallyStore.replaceAll(tallies.options(), tallies.totals());
+                tallies.totals().keySet().forEach(broadcaster::markDirty);
+                report = new Report(false, votes, counters, System.currentTimeMillis() - started);
+            }
+            log.info("Rebuilt tallies: {}", report);
+            return Optional.of(report);
+        } finally {
+            if (container != null) {
+                container.resume();
+            }
+            running.set(false);
+        }
+    }
+
+    private void pause(MessageListenerContainer container) throws InterruptedException {
+        if (container == null || !container.isRunning()) {
+            return;
+        }
+        container.pause();
+        long deadline = System.currentTimeMillis() + PAUSE_TIMEOUT_MS;
+        // Paused only after the in-flight batch is applied and its offsets committed
+        while (!container.isContainerPaused()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Timed out pausing the votes listener");
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private long replayKafka(Tallies tallies) throws Exception {
+        Map<TopicPartition, Long> endOffsets = committedEndOffsets();
+        List<Callable<Long>> tasks = endOffsets.keySet().stream()
+                .<Callable<Long>>map(partition -> () -> replayPartition(partition, endOffsets.get(partition), tallies))
+                .toList();
+        return runAll(tasks);
+    }
+
+    // Partial replay: feeds the range through the live path, which skips votes already counted
+    private long applyKafka(Map<Integer, Long> fromOffsets) throws Exception {
+        Map<TopicPartition, Long> endOffsets = committedEndOffsets();
+        List<Callable<Long>> tasks = endOffsets.keySet().stream()
+                .filter(partition -> fromOffsets.containsKey(partition.partition()))
+                .<Callable<Long>>map(partition -> () -> applyPartition(partition, fromOffsets.get(partition.partition()), endOffsets.get(partition)))
+                .toList();
+        return runAll(tasks);
+    }
+
+    private Map<TopicPartition, Long> committedEndOffsets() throws Exception {
+        List<TopicPartition> partitions;
+        Map<TopicPartition, Long> endOffsets = new HashMap<>();
+        try (Admin admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers));
+             KafkaConsumer<String, VoteRecordedEvent> probe = newReplayConsumer()) {
+            partitions = probe.partitionsFor(TOPIC).stream()
+                    .map(info -> new TopicPartition(TOPIC, info.partition()))
+                    .toList();
+            Map<TopicPartition, OffsetAndMetadata> committed =
+                    admin.listConsumerGroupOffsets(GROUP).partitionsToOffsetAndMetadata().get();
+            Map<TopicPartition, Long> logEnd = probe.endOffsets(partitions);
+            for (TopicPartition partition : partitions) {
+                OffsetAndMetadata offset = committed.get(partition);
+                endOffsets.put(partition, offset != null ? offset.offset() : logEnd.get(partition));
+            }
+        }
+        return endOffsets;
+    }
+
+    private long replayPartition(TopicPartition partition, long endOffset, Tallies tallies) {
+        Map<OptionKey, long[]> counts = new HashMap<>();
+        RecentIdFilter seen = new RecentIdFilter(dedupWindow);
+        long[] votes = new long[1];
+        readPartition(partition, null, endOffset, events -> {
+            List<String> counted = new ArrayList<>(events.size());
+            for (VoteRecordedEvent event : events) {
+                // Producer retries and redelivered sends leave the same vote in the log more than once
+                if (!seen.contains(event.getVoteId())) {
+                    seen.add(event.getVoteId());
+                    counts.computeIfAbsent(new OptionKey(event.getPollId(), event.getOptionId()), k -> new long[1])[0]++;
+                    counted.add(event.getVoteId().toString());
+                }
+            }
+            writeMarkers(counted);
+            votes[0] += counted.size();
+        });
+        tallies.merge(counts);
+        return votes[0];
+    }
+
+    private long applyPartition(TopicPartition partition, long fromOffset, long endOffset) {
+        long[] votes = new long[1];
+        readPartition(partition, fromOffset, endOffset, events -> {
+            for (int i = 0; i < events.size(); i += APPLY_CHUNK) {
+                resultsListener.handleVotes(events.subList(i, Math.min(events.size(), i + APPLY_CHUNK)));
+            }
+            votes[0] += events.size();
+        });
+        return votes[0];
+    }
+
+    // Hands each polled batch of valid events in [fromOffset or log start, endOffset) to the sink
+    private void readPartition(TopicPartition partition, Long fromOffset, long endOffset, Consumer<List<VoteRecordedEvent>> sink) {
+        try (KafkaConsumer<String, VoteRecordedEvent> consumer = newReplayConsumer()) {
+            consumer.assign(List.of(partition));
+            if (fromOffset != null) {
+                consumer.seek(partition, fromOffset);
+            } else {
+                consumer.seekToBeginning(List.of(partition));
+            }
+            while (consumer.position(partition) < endOffset) {
+                List<VoteRecordedEvent> events = new ArrayList<>();
+                for (ConsumerRecord<String, VoteRecordedEvent> record : consumer.poll(Duration.ofMillis(500)).records(partition)) {
+                    if (record.offset() >= endOffset) {
+                        break;
+                    }
+                    VoteRecordedEvent event = record.value();
+                    if (event != null && event.getVoteId() != null && event.getPollId() != null && event.getOptionId() != null) {
+                        events.add(event);
+                    }
+                }
+                if (!events.isEmpty()) {
+                    sink.accept(events);
+                }
+            }
+        }
+    }
+
+    private KafkaConsumer<String, VoteRecordedEvent> newReplayConsumer() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        // No group: replay positions must never be committed for the live group
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, FETCH_SIZE);
+        props.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, 8 * 1024 * 1024);
+        return new KafkaConsumer<>(props, new StringDeserializer(), new CompactEventDeserializer<>(VoteRecordedEvent.class));
+    }
+
+    // Same vote:seen:{voteId} markers tally-votes.lua sets, written in one pipeline per chunk
+    private void writeMarkers(List<String> voteIds) {
+        byte[] one = "1".getBytes(StandardCharsets.UTF_8);
+        Expiration ttl = Expiration.seconds(dedupTtlSeconds);
+        for (int i = 0; i < voteIds.size(); i += MARKER_CHUNK) {
+            List<String> chunk = voteIds.subList(i, Math.min(voteIds.size(), i + MARKER_CHUNK));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String voteId : chunk) {
+                    connection.stringCommands().set(("vote:seen:" + voteId).getBytes(StandardCharsets.UTF_8), one, ttl,
+                            RedisStringCommands.SetOption.UPSERT);
+                }
+                return null;
+            });
+        }
+    }
+
+    // Writes the counters as the next generation, flips the pointer to it, then drops the old one
+    private long swap(Tallies tallies) {
+        String current = redisTemplate.opsForValue().get(TallyKeys.GENERATION);
+        String next = String.valueOf(current == null ? 1 : Long.parseLong(current) + 1);
+        String prefix = TallyKeys.prefix(next);
+        // Leftovers of an earlier rebuild that failed before its flip
+        deleteGeneration(prefix);
+
+        List<Map.Entry<String, String>> writes = new ArrayList<>();
+        tallies.options().forEach((pollId, options) -> options.forEach((optionId, count) ->
+                writes.add(Map.entry(TallyKeys.option(prefix, pollId, optionId), String.valueOf(count)))));
+        tallies.totals().forEach((pollId, total) -> writes.add(Map.entry(TallyKeys.total(prefix, pollId), String.valueOf(total))));
+        for (int i = 0; i < writes.size(); i += SWAP_CHUNK) {
+            List<Map.Entry<String, String>> chunk = writes.subList(i, Math.min(writes.size(), i + SWAP_CHUNK));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<String, String> entry : chunk) {
+                    connection.stringCommands().set(entry.getKey().getBytes(StandardCharsets.UTF_8),
+                            entry.getValue().getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+        }
+
+        redisTemplate.opsForValue().set(TallyKeys.GENERATION, next);
+        deleteGeneration(TallyKeys.prefix(current));
+        return writes.size();
+    }
+
+    private void deleteGeneration(String prefix) {
+        List<String> keys = new ArrayList<>();
+        for (String pattern : List.of(prefix + "poll:*:option:*", prefix + "poll:*:total")) {
+            try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(1000).build())) {
+                cursor.forEachRemaining(keys::add);
+            }
+        }
+        for (int i = 0; i < keys.size(); i += SWAP_CHUNK) {
+            redisTemplate.delete(keys.subList(i, Math.min(keys.size(), i + SWAP_CHUNK)));
+        }
+    }
+
+    private static long runAll(List<Callable<Long>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, tasks.size()));
+        try {
+            long total = 0;
+            for (Future<Long> future : pool.invokeAll(tasks)) {
+                total += future.get();
+            }
+            return total;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private record OptionKey(UUID pollId, UUID optionId) { }
+
+    /** Counts merged from all workers. */
+    private static final class Tallies {
+        private final Map<OptionKey, Long> counts = new HashMap<>();
+
+        synchronized void merge(Map<OptionKey, long[]> partial) {
+            partial.forEach((key, count) -> counts.merge(key, count[0], Long::sum));
+        }
+
+        synchronized Map<UUID, Map<UUID, Long>> options() {
+            Map<UUID, Map<UUID, Long>> byPoll = new HashMap<>();
+            counts.forEach((key, count) -> byPoll.computeIfAbsent(key.pollId(), id -> new HashMap<>()).put(key.optionId(), count));
+            return byPoll;
+        }
+
+        synchronized Map<UUID, Long> totals() {
+            Map<UUID, Long> totals = new HashMap<>();
+            counts.forEach((key, count) -> totals.merge(key.pollId(), count, Long::sum));
+            return totals;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.runrt.results.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Loads the Redis counters of the current {@link TallyKeys} generation into {@link TallyStore} once
+ * after startup, retrying until Redis is reachable. Live updates may already be applied meanwhile;
+ * TallyStore keeps the larger value.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TallyRehydrator {
+
+    private static final int CHUNK = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final TallyStore tallyStore;
+
+    @Scheduled(fixedDelayString = "${results.rehydrate.retry-ms:5000}")
+    public void rehydrateIfNeeded() {
+        if (tallyStore.isLoaded()) {
+            return;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            String prefix = TallyKeys.prefix(redisTemplate.opsForValue().get(TallyKeys.GENERATION));
+            int options = scan(prefix + "poll:*:option:*", (keys, values) -> applyOptions(prefix, keys, values));
+            int polls = scan(prefix + "poll:*:total", (keys, values) -> applyTotals(prefix, keys, values));
+            tallyStore.markLoaded();
+            log.info("Rehydrated {} option counters across {} polls in {} ms", options, polls, System.currentTimeMillis() - started);
+        } catch (Exception ex) {
+            log.warn("Tally rehydration failed, will retry", ex);
+        }
+    }
+
+    private int scan(String pattern, ChunkHandler handler) {
+        int count = 0;
+        List<String> keys = new ArrayList<>(CHUNK);
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(CHUNK).build())) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+                if (keys.size() == CHUNK) {
+                    handler.apply(keys, redisTemplate.opsForValue().multiGet(keys));
+                    count += keys.size();
+                    keys.clear();
+                }
+            }
+        }
+        if (!keys.isEmpty()) {
+            handler.apply(keys, redisTemplate.opsForValue().multiGet(keys));
+            count += keys.size();
+        }
+        return count;
+    }
+
+    // {prefix}poll:{pollId}:option:{optionId}
+    private void applyOptions(String prefix, List<String> keys, List<String> values) {
+        for (int i = 0; i < keys.size(); i++) {
+            String[] parts = keys.get(i).substring(prefix.length()).split(":");
+            if (parts.length == 4 && values.get(i) != null) {
+                tallyStore.applyOption(UUID.fromString(parts[1]), UUID.fromString(parts[3]), Long.parseLong(values.get(i)));
+            }
+        }
+    }
+
+    // {prefix}poll:{pollId}:total
+    private void applyTotals(String prefix, List<String> keys, List<String> values) {
+        for (int i = 0; i < keys.size(); i++) {
+            String[] parts = keys.get(i).substring(prefix.length()).split(":");
+            if (parts.length == 3 && values.get(i) != null) {
+                tallyStore.applyTotal(UUID.fromString(parts[1]), Long.parseLong(values.get(i)));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkHandler {
+        void apply(List<String> keys, List<String> values);
+    }
+}
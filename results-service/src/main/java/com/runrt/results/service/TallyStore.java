@@ -0,0 +1,107 @@
+package com.runrt.results.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latest known counts per poll and option. Redis stays authoritative: values applied here are the
+ * absolute counts Redis returned, and a counter only ever moves forward, so updates can arrive in
+ * any order from any listener thread.
+ */
+@Component
+public class TallyStore {
+
+    private final Map<UUID, PollTally> polls = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public void apply(UUID pollId, UUID optionId, long optionCount, long totalVotes) {
+        applyOption(pollId, optionId, optionCount);
+        applyTotal(pollId, totalVotes);
+    }
+
+    public void applyOption(UUID pollId, UUID optionId, long optionCount) {
+        PollTally tally = tallyFor(pollId);
+        AtomicLong counter = tally.options.computeIfAbsent(optionId, id -> new AtomicLong());
+        if (counter.getAndAccumulate(optionCount, Math::max) < optionCount) {
+            tally.version.incrementAndGet();
+        }
+    }
+
+    public void applyTotal(UUID pollId, long totalVotes) {
+        PollTally tally = tallyFor(pollId);
+        if (tally.total.getAndAccumulate(totalVotes, Math::max) < totalVotes) {
+            tally.version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Replaces all counts with freshly rebuilt ones. Unlike the apply methods this may move
+     * counters backwards, so it is only for {@link TallyRebuilder}, with live updates paused.
+     *
+     * @param options per poll, the count of every option
+     * @param totals per poll, the total vote count
+     */
+    public void replaceAll(Map<UUID, Map<UUID, Long>> options, Map<UUID, Long> totals) {
+        polls.keySet().retainAll(totals.keySet());
+        totals.forEach((pollId, total) -> {
+            PollTally tally = new PollTally();
+            options.getOrDefault(pollId, Map.of()).forEach((optionId, count) -> tally.options.put(optionId, new AtomicLong(count)));
+            tally.total.set(total);
+            polls.put(pollId, tally);
+        });
+        loaded = true;
+    }
+
+    /**
+     * Whether the counters have been rehydrated from Redis since startup.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void markLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * Returns the poll's current results. The snapshot is built once per change and shared by all
+     * callers until the next update, so bursts of readers cost a map lookup each.
+     *
+     * @return the poll's current results, or {@code null} if no votes are known for it
+     */
+    public PollResults snapshot(UUID pollId) {
+        PollTally tally = polls.get(pollId);
+        if (tally == null) {
+            return null;
+        }
+        long version = tally.version.get();
+        CachedSnapshot cached = tally.cached;
+        if (cached != null && cached.version() == version) {
+            return cached.results();
+        }
+        Map<UUID, Long> results = new HashMap<>();
+        tally.options.forEach((optionId, count) -> results.put(optionId, count.get()));
+        PollResults snapshot = new PollResults(pollId, Map.copyOf(results), tally.total.get(), Instant.now());
+        tally.cached = new CachedSnapshot(version, snapshot);
+        return snapshot;
+    }
+
+    private PollTally tallyFor(UUID pollId) {
+        return polls.computeIfAbsent(pollId, id -> new PollTally());
+    }
+
+    private record CachedSnapshot(long version, PollResults results) { }
+
+    private static final class PollTally {
+        private final Map<UUID, AtomicLong> options = new ConcurrentHashMap<>();
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong version = new AtomicLong();
+        private volatile CachedSnapshot cached;
+    }
+}
@@ -0,0 +1,84 @@
+package com.runrt.results.service;
+
+import com.runrt.common.dedup.RecentIdFilter;
+import com.runrt.common.events.VoteRecordedEvent;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One Kafka poll worth of votes folded into per-(poll, option) groups, so that the Redis update
+ * costs one script call per batch instead of two round trips per vote.
+ */
+public class VoteBatch {
+
+    private final Map<OptionKey, List<UUID>> groups = new LinkedHashMap<>();
+    private final Set<UUID> voteIds = new HashSet<>();
+    private final List<VoteRecordedEvent> events = new ArrayList<>();
+
+    /**
+     * Folds the events, dropping votes repeated within the batch or known to the filter.
+     */
+    public static VoteBatch of(List<VoteRecordedEvent> events, RecentIdFilter recentVotes) {
+        VoteBatch batch = new VoteBatch();
+        for (VoteRecordedEvent event : events) {
+            UUID voteId = event.getVoteId();
+            if (recentVotes.contains(voteId) || !batch.voteIds.add(voteId)) {
+                continue;
+            }
+            batch.groups.computeIfAbsent(new OptionKey(event.getPollId(), event.getOptionId()), k -> new ArrayList<>())
+                    .add(voteId);
+            batch.events.add(event);
+        }
+        return batch;
+    }
+
+    public boolean isEmpty() {
+        return groups.isEmpty();
+    }
+
+    public List<OptionKey> groups() {
+        return new ArrayList<>(groups.keySet());
+    }
+
+    public Set<UUID> voteIds() {
+        return voteIds;
+    }
+
+    /** The events that survived deduplication, in arrival order. */
+    public List<VoteRecordedEvent> events() {
+        return events;
+    }
+
+    /** The surviving events whose ids are in {@code applied}, in arrival order. */
+    public List<VoteRecordedEvent> events(Set<UUID> applied) {
+        return events.stream().filter(event -> applied.contains(event.getVoteId())).toList();
+    }
+
+    /** KEYS for tally-votes.lua: the counter generation pointer, the script derives the counter keys. */
+    public List<String> scriptKeys() {
+        return List.of(TallyKeys.GENERATION);
+    }
+
+    /** ARGV for tally-votes.lua: marker TTL, then poll id, option id, vote count and vote ids per group. */
+    public String[] scriptArgs(long dedupTtlSeconds) {
+        List<String> args = new ArrayList<>(1 + groups.size() * 3 + voteIds.size());
+        args.add(String.valueOf(dedupTtlSeconds));
+        for (Map.Entry<OptionKey, List<UUID>> group : groups.entrySet()) {
+            args.add(group.getKey().pollId().toString());
+            args.add(group.getKey().optionId().toString());
+            args.add(String.valueOf(group.getValue().size()));
+            for (UUID id : group.getValue()) {
+                args.add(id.toString());
+            }
+        }
+        return args.toArray(new String[0]);
+    }
+
+    public record OptionKey(UUID pollId, UUID optionId) { }
+}
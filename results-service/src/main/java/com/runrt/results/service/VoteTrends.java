@@ -0,0 +1,256 @@
+package com.runrt.results.service;
+
+import com.runrt.common.events.VoteRecordedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Windowed vote counts per poll and option, keyed by {@code VoteRecordedEvent.timestamp}. Each
+ * poll keeps two rings of primitive counters, one-second and one-minute windows; a slot is zeroed
+ * when a newer window claims it, so closed windows are evicted without extra bookkeeping.
+ * <p>
+ * Votes older than {@code results.trends.allowed-lateness-seconds} behind the newest vote seen for
+ * the poll are dropped. Memory is bounded by {@code max-polls} x {@code max-options} rings; polls
+ * idle for longer than the minute ring are removed.
+ * <p>
+ * Hot polls are salted over every partition, so several listener threads and nodes may each hold
+ * part of a poll's windows. Threads of one node share the rings; with Redis fan-out every node
+ * relays its own part through {@link ResultsFanout} and {@link #snapshot} merges the latest part
+ * of each node on read, aligned to the current second.
+ */
+@Component
+public class VoteTrends {
+
+    static final int SECOND_SLOTS = 120;
+    static final int MINUTE_SLOTS = 60;
+    private static final int SERIES_LENGTH = 60;
+
+    private final Map<UUID, PollWindows> polls = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<String, PollTrends>> relayed = new ConcurrentHashMap<>();
+    private final int allowedLatenessSeconds;
+    private final int maxPolls;
+    private final int maxOptions;
+    private final Counter late;
+    private final Counter dropped;
+
+    public VoteTrends(MeterRegistry registry,
+                      @Value("${results.trends.allowed-lateness-seconds:5}") int allowedLatenessSeconds,
+                      @Value("${results.trends.max-polls:2000}") int maxPolls,
+                      @Value("${results.trends.max-options:32}") int maxOptions) {
+        // The second ring must still hold a full sliding minute behind the latest accepted vote
+        this.allowedLatenessSeconds = Math.min(allowedLatenessSeconds, SECOND_SLOTS - SERIES_LENGTH - 1);
+        this.maxPolls = maxPolls;
+        this.maxOptions = maxOptions;
+        this.late = Counter.builder("results.trends.votes").tag("result", "late").register(registry);
+        this.dropped = Counter.builder("results.trends.votes").tag("result", "over_capacity").register(registry);
+        Gauge.builder("results.trends.polls", polls, Map::size).register(registry);
+    }
+
+    public void record(List<VoteRecordedEvent> events) {
+        for (VoteRecordedEvent event : events) {
+            if (event.getPollId() == null || event.getOptionId() == null || event.getTimestamp() == null) {
+                continue;
+            }
+            PollWindows windows = polls.get(event.getPollId());
+            if (windows == null) {
+                if (polls.size() >= maxPolls) {
+                    dropped.increment();
+                    continue;
+                }
+                windows = polls.computeIfAbsent(event.getPollId(), id -> new PollWindows());
+            }
+            switch (windows.record(event.getOptionId(), event.getTimestamp().getEpochSecond(), allowedLatenessSeconds, maxOptions)) {
+                case LATE -> late.increment();
+                case OVER_CAPACITY -> dropped.increment();
+                default -> { }
+            }
+        }
+    }
+
+    /**
+     * @return trends as of now, this node's windows merged with the parts relayed by other nodes
+     */
+    public PollTrends snapshot(UUID pollId) {
+        long now = Instant.now().getEpochSecond();
+        PollTrends local = localSnapshot(pollId);
+        Map<String, PollTrends> remote = relayed.getOrDefault(pollId, Map.of());
+        if (remote.isEmpty()) {
+            return local != null ? local : PollTrends.empty(pollId);
+        }
+        List<PollTrends> parts = new ArrayList<>(remote.size() + 1);
+        if (local != null) {
+            parts.add(local);
+        }
+        remote.values().stream()
+                .filter(part -> part.asOf().getEpochSecond() >= now - SERIES_LENGTH)
+                .forEach(parts::add);
+        return merge(pollId, now, parts);
+    }
+
+    /**
+     * @return trends of the votes consumed by this node only, or {@code null} if it has none
+     */
+    public PollTrends localSnapshot(UUID pollId) {
+        PollWindows windows = polls.get(pollId);
+        return windows != null ? windows.snapshot(pollId, Instant.now().getEpochSecond()) : null;
+    }
+
+    /**
+     * Polls whose sliding minute is not yet empty, i.e. worth pushing to subscribers.
+     */
+    public List<UUID> activePolls() {
+        long now = Instant.now().getEpochSecond();
+        return polls.entrySet().stream()
+                .filter(e -> e.getValue().newestSecond() > now - SERIES_LENGTH - 1)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /** Keeps the latest part relayed by another node, replacing its previous one. */
+    public void remember(String source, PollTrends trends) {
+        relayed.computeIfAbsent(trends.pollId(), id -> new ConcurrentHashMap<>()).put(source, trends);
+    }
+
+    @Scheduled(fixedDelayString = "${results.trends.sweep-ms:60000}")
+    public void evictIdle() {
+        long now = Instant.now().getEpochSecond();
+        polls.values().removeIf(windows -> windows.newestSecond() < now - MINUTE_SLOTS * 60L);
+        relayed.values().forEach(parts -> parts.values().removeIf(trends -> trends.asOf().getEpochSecond() < now - SERIES_LENGTH));
+        relayed.values().removeIf(Map::isEmpty);
+    }
+
+    private static PollTrends merge(UUID pollId, long now, List<PollTrends> parts) {
+        Map<UUID, long[]> perSecond = new HashMap<>();
+        Map<UUID, long[]> perMinute = new HashMap<>();
+        long nowMinute = Math.floorDiv(now, 60);
+        for (PollTrends part : parts) {
+            long asOf = part.asOf().getEpochSecond();
+            part.perSecond().forEach((optionId, series) ->
+                    addShifted(perSecond.computeIfAbsent(optionId, id -> new long[SERIES_LENGTH]), series, now - asOf));
+            part.perMinute().forEach((optionId, series) ->
+                    addShifted(perMinute.computeIfAbsent(optionId, id -> new long[SERIES_LENGTH]), series, nowMinute - Math.floorDiv(asOf, 60)));
+        }
+        Map<UUID, Long> lastMinute = new HashMap<>();
+        perSecond.forEach((optionId, series) -> lastMinute.put(optionId, Arrays.stream(series).sum()));
+        return new PollTrends(pollId, Instant.ofEpochSecond(now), lastMinute, perSecond, perMinute);
+    }
+
+    // Adds a series whose last window ended {@code lag} windows before the target's last window
+    private static void addShifted(long[] into, long[] series, long lag) {
+        for (int i = 0; i < series.length; i++) {
+            long j = i - lag - (series.length - into.length);
+            if (j >= 0 && j < into.length) {
+                into[(int) j] += series[i];
+            }
+        }
+    }
+
+    enum RecordResult { COUNTED, LATE, OVER_CAPACITY }
+
+    private static final class PollWindows {
+        private final Map<UUID, Integer> slots = new HashMap<>();
+        private UUID[] optionIds = new UUID[4];
+        private long[][] seconds = new long[4][];
+        private long[][] minutes = new long[4][];
+        private final long[] secondTags = new long[SECOND_SLOTS];
+        private final long[] minuteTags = new long[MINUTE_SLOTS];
+        private long newestSecond = Long.MIN_VALUE;
+
+        PollWindows() {
+            Arrays.fill(secondTags, Long.MIN_VALUE);
+            Arrays.fill(minuteTags, Long.MIN_VALUE);
+        }
+
+        synchronized long newestSecond() {
+            return newestSecond;
+        }
+
+        synchronized RecordResult record(UUID optionId, long second, int allowedLateness, int maxOptions) {
+            newestSecond = Math.max(newestSecond, second);
+            if (second < newestSecond - allowedLateness) {
+                return RecordResult.LATE;
+            }
+            Integer slot = slots.get(optionId);
+            if (slot == null) {
+                if (slots.size() >= maxOptions) {
+                    return RecordResult.OVER_CAPACITY;
+                }
+                slot = addOption(optionId);
+            }
+
+            int s = (int) Math.floorMod(second, SECOND_SLOTS);
+            if (secondTags[s] != second) {
+                clear(seconds, s);
+                secondTags[s] = second;
+            }
+            seconds[slot][s]++;
+
+            long minute = Math.floorDiv(second, 60);
+            int m = (int) Math.floorMod(minute, MINUTE_SLOTS);
+            if (minuteTags[m] != minute) {
+                clear(minutes, m);
+                minuteTags[m] = minute;
+            }
+            minutes[slot][m]++;
+            return RecordResult.COUNTED;
+        }
+
+        synchronized PollTrends snapshot(UUID pollId, long now) {
+            Map<UUID, Long> lastMinute = new HashMap<>();
+            Map<UUID, long[]> perSecond = new HashMap<>();
+            Map<UUID, long[]> perMinute = new HashMap<>();
+            long nowMinute = Math.floorDiv(now, 60);
+            for (int slot = 0; slot < slots.size(); slot++) {
+                long[] secondSeries = series(seconds[slot], secondTags, SECOND_SLOTS, now);
+                perSecond.put(optionIds[slot], secondSeries);
+                perMinute.put(optionIds[slot], series(minutes[slot], minuteTags, MINUTE_SLOTS, nowMinute));
+                lastMinute.put(optionIds[slot], Arrays.stream(secondSeries).sum());
+            }
+            return new PollTrends(pollId, Instant.ofEpochSecond(now), lastMinute, perSecond, perMinute);
+        }
+
+        // The SERIES_LENGTH windows ending at {@code newest}, oldest first; evicted windows read as 0
+        private static long[] series(long[] counts, long[] tags, int ringSize, long newest) {
+            long[] out = new long[SERIES_LENGTH];
+            for (int i = 0; i < SERIES_LENGTH; i++) {
+                long window = newest - (SERIES_LENGTH - 1) + i;
+                int idx = (int) Math.floorMod(window, ringSize);
+                out[i] = tags[idx] == window ? counts[idx] : 0;
+            }
+            return out;
+        }
+
+        private int addOption(UUID optionId) {
+            int slot = slots.size();
+            if (slot == optionIds.length) {
+                optionIds = Arrays.copyOf(optionIds, slot * 2);
+                seconds = Arrays.copyOf(seconds, slot * 2);
+                minutes = Arrays.copyOf(minutes, slot * 2);
+            }
+            optionIds[slot] = optionId;
+            seconds[slot] = new long[SECOND_SLOTS];
+            minutes[slot] = new long[MINUTE_SLOTS];
+            slots.put(optionId, slot);
+            return slot;
+        }
+
+        private void clear(long[][] rings, int idx) {
+            for (int slot = 0; slot < slots.size(); slot++) {
+                rings[slot][idx] = 0;
+            }
+        }
+    }
+}
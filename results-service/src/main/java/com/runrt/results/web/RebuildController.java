@@ -0,0 +1,72 @@
+package com.runrt.results.web;
+
+import com.runrt.results.service.TallyRebuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Operator endpoint for {@link TallyRebuilder}. Served on the results-service port only; the
+ * gateway routes just {@code /api/results/**}. Callers need one of the rebuild roles in
+ * {@code X-User-Role}, like the other operator endpoints.
+ */
+@RestController
+@RequestMapping("/internal/results")
+@RequiredArgsConstructor
+@Slf4j
+public class RebuildController {
+
+    private final TallyRebuilder rebuilder;
+
+    @Value("${results.rebuild.roles:ADMIN}")
+    private Set<String> rebuildRoles;
+
+    /**
+     * @param fromOffsets {@code partition:offset} pairs, e.g. {@code 0:1200,3:980}, for a partial
+     *                    replay that is applied onto the existing counters
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild(@RequestParam(required = false) String fromOffsets,
+                                     @RequestHeader(value = "X-User-Role", required = false) String role) {
+        if (role == null || !rebuildRoles.contains(role)) {
+            return ResponseEntity.status(403).body(Map.of("error", "forbidden"));
+        }
+        Map<Integer, Long> offsets = null;
+        if (fromOffsets != null) {
+            offsets = parseOffsets(fromOffsets);
+            if (offsets == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "invalid_offsets"));
+            }
+        }
+        try {
+            return rebuilder.rebuild(offsets)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(409).body(Map.of("error", "rebuild_running")));
+        } catch (Exception ex) {
+            log.error("Tally rebuild failed", ex);
+            return ResponseEntity.status(500).body(Map.of("error", "rebuild_failed"));
+        }
+    }
+
+    private static Map<Integer, Long> parseOffsets(String value) {
+        Map<Integer, Long> offsets = new HashMap<>();
+        try {
+            for (String pair : value.split(",")) {
+                String[] parts = pair.trim().split(":");
+                if (parts.length != 2) {
+                    return null;
+                }
+                offsets.put(Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+            }
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        return offsets.isEmpty() ? null : offsets;
+    }
+}
@@ -0,0 +1,36 @@
+package com.runrt.results.web;
+
+import com.runrt.results.service.PollResults;
+import com.runrt.results.service.PollTrends;
+import com.runrt.results.service.TallyStore;
+import com.runrt.results.service.VoteTrends;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/results")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+public class ResultsController {
+
+    private final TallyStore tallyStore;
+    private final VoteTrends voteTrends;
+
+    @GetMapping("/{pollId}")
+    public ResponseEntity<?> get(@PathVariable UUID pollId) {
+        if (!tallyStore.isLoaded()) {
+            return ResponseEntity.status(503).body(Map.of("error", "warming_up"));
+        }
+        PollResults snapshot = tallyStore.snapshot(pollId);
+        return ResponseEntity.ok(snapshot != null ? snapshot : PollResults.empty(pollId));
+    }
+
+    @GetMapping("/{pollId}/trends")
+    public PollTrends trends(@PathVariable UUID pollId) {
+        return voteTrends.snapshot(pollId);
+    }
+}
@@ -0,0 +1,43 @@
+-- Applies one coalesced batch of votes, skipping votes that were already counted.
+-- KEYS[1]: tallies:generation, the counter generation set by a rebuild (counters are unprefixed without it)
+-- ARGV[1]: TTL in seconds of the vote:seen:{voteId} markers
+-- ARGV[2..]: per (poll, option) group, the poll id, the option id and the number of votes n followed by the n vote ids
+-- Returns per group: accepted votes a, new option count, new poll total, then the a accepted vote ids
+local ttl = ARGV[1]
+local generation = redis.call('GET', KEYS[1])
+local prefix = ''
+if generation then
+  prefix = 'tallies:' .. generation .. ':'
+end
+local result = {}
+local a = 2
+while a <= #ARGV do
+  local optionKey = prefix .. 'poll:' .. ARGV[a] .. ':option:' .. ARGV[a + 1]
+  local totalKey = prefix .. 'poll:' .. ARGV[a] .. ':total'
+  local n = tonumber(ARGV[a + 2])
+  a = a + 3
+  local accepted = 0
+  local ids = {}
+  for i = 1, n do
+    if redis.call('SET', 'vote:seen:' .. ARGV[a], '1', 'NX', 'EX', ttl) then
+      accepted = accepted + 1
+      ids[accepted] = ARGV[a]
+    end
+    a = a + 1
+  end
+  local optionCount, total
+  if accepted > 0 then
+    optionCount = redis.call('INCRBY', optionKey, accepted)
+    total = redis.call('INCRBY', totalKey, accepted)
+  else
+    optionCount = tonumber(redis.call('GET', optionKey) or '0')
+    total = tonumber(redis.call('GET', totalKey) or '0')
+  end
+  result[#result + 1] = accepted
+  result[#result + 1] = optionCount
+  result[#result + 1] = total
+  for i = 1, accepted do
+    result[#result + 1] = ids[i]
+  end
+end
+return result
@@ -0,0 +1,131 @@
+package com.runrt.results.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.runrt.results.config.RedisFanoutConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two results-service nodes sharing one Redis: a snapshot published by either node must reach the
+ * local subscribers of both, as the same frame, and move both nodes' {@link TallyStore}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisResultsFanoutTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final List<Node> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void startNodes() {
+        nodes.add(new Node());
+        nodes.add(new Node());
+    }
+
+    @AfterEach
+    void stopNodes() throws Exception {
+        for (Node node : nodes) {
+            node.close();
+        }
+    }
+
+    @Test
+    void everyNodeDeliversTheSameFrame() throws Exception {
+        UUID pollId = UUID.randomUUID();
+        UUID optionId = UUID.randomUUID();
+        PollResults snapshot = new PollResults(pollId, Map.of(optionId, 7L), 7, Instant.parse("2026-01-01T00:00:00Z"));
+
+        nodes.get(0).fanout.publish(snapshot);
+
+        for (Node node : nodes) {
+            Message<?> frame = node.frames.poll(5, TimeUnit.SECONDS);
+            assertThat(frame).isNotNull();
+            assertThat(SimpMessageHeaderAccessor.getDestination(frame.getHeaders())).isEqualTo(ResultsFanout.destination(snapshot));
+            assertThat(frame.getPayload()).isEqualTo(snapshot);
+            assertThat(node.tallyStore.snapshot(pollId).results()).containsEntry(optionId, 7L);
+            assertThat(node.tallyStore.snapshot(pollId).totalVotes()).isEqualTo(7);
+        }
+    }
+
+    @Test
+    void framesFromBothNodesReachBothNodesInPublishOrder() throws Exception {
+        UUID pollId = UUID.randomUUID();
+        UUID optionId = UUID.randomUUID();
+        PollResults first = new PollResults(pollId, Map.of(optionId, 1L), 1, Instant.parse("2026-01-01T00:00:00Z"));
+        PollResults second = new PollResults(pollId, Map.of(optionId, 2L), 2, Instant.parse("2026-01-01T00:00:01Z"));
+
+        nodes.get(0).fanout.publish(first);
+        assertThat(nodes.get(0).frames.poll(5, TimeUnit.SECONDS)).isNotNull();
+        nodes.get(1).fanout.publish(second);
+
+        List<Object> seenByFirst = payloads(nodes.get(0), 1);
+        List<Object> seenBySecond = payloads(nodes.get(1), 2);
+        assertThat(seenByFirst).containsExactly(second);
+        assertThat(seenBySecond).containsExactly(first, second);
+    }
+
+    private static List<Object> payloads(Node node, int count) throws InterruptedException {
+        List<Object> payloads = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Message<?> frame = node.frames.poll(5, TimeUnit.SECONDS);
+            assertThat(frame).isNotNull();
+            payloads.add(frame.getPayload());
+        }
+        return payloads;
+    }
+
+    /** The fanout beans of one results-service node, each with its own Redis connections. */
+    private final class Node implements AutoCloseable {
+        final BlockingQueue<Message<?>> frames = new LinkedBlockingQueue<>();
+        final TallyStore tallyStore = new TallyStore();
+        final RedisResultsFanout fanout;
+        private final LettuceConnectionFactory connectionFactory;
+        private final RedisMessageListenerContainer listenerContainer;
+
+        Node() {
+            connectionFactory = new LettuceConnectionFactory(
+                    new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> frames.add(message));
+            VoteTrends voteTrends = new VoteTrends(new SimpleMeterRegistry(), 5, 2000, 32);
+            fanout = new RedisResultsFanout(new StringRedisTemplate(connectionFactory), messagingTemplate,
+                    tallyStore, voteTrends, objectMapper);
+            listenerContainer = new RedisFanoutConfig().resultsFanoutListenerContainer(connectionFactory, fanout);
+            listenerContainer.afterPropertiesSet();
+            listenerContainer.start();
+        }
+
+        @Override
+        public void close() throws Exception {
+            listenerContainer.destroy();
+            connectionFactory.destroy();
+        }
+    }
+}
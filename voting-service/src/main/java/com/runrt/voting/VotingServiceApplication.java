@@ -2,10 +2,12 @@ package com.runrt.voting;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import java.util.TimeZone;
 import java.time.ZoneId;
 
 @SpringBootApplication
+@EnableScheduling
 public class VotingServiceApplication {
     public static void main(String[] args) {
         // DEBUG: Check what timezone the JVM actually starts with
@@ -1,24 +1,34 @@
 package com.runrt.voting.config;
 
+import com.runrt.common.catalog.PollCatalog;
+import com.runrt.common.dedup.RecentIdFilter;
+import com.runrt.common.partitioning.HotPollKeys;
+import com.runrt.common.serialization.CompactEventDeserializer;
+import com.runrt.common.serialization.CompactEventSerializer;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonSerializer;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Configuration
 public class KafkaConfig {
@@ -26,12 +36,63 @@ public class KafkaConfig {
     @Value("${kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${runrt.events.encoding:json}")
+    private String eventEncoding;
+
+    @Value("${voting.producer.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${voting.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${voting.producer.compression:lz4}")
+    private String compression;
+
+    @Value("${voting.producer.buffer-memory:67108864}")
+    private long bufferMemory;
+
+    @Value("${voting.producer.max-block-ms:50}")
+    private long maxBlockMs;
+
+    @Value("${voting.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${voting.consumer.concurrency:1}")
+    private int consumerConcurrency;
+
+    @Value("${voting.dedup.recent-ids:200000}")
+    private int recentVoteIds;
+
+    @Value("${voting.topic.partitions:6}")
+    private int votesTopicPartitions;
+
+    @Value("${voting.hot-polls.shards:12}")
+    private int hotPollShards;
+
+    @Value("${voting.hot-polls.votes-per-second:500}")
+    private long hotPollVotesPerSecond;
+
+    @Value("${voting.hot-polls.hold-ms:60000}")
+    private long hotPollHoldMs;
+
+    @Value("${voting.hot-polls.pinned:}")
+    private List<UUID> pinnedHotPolls;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                "json".equals(eventEncoding) ? JsonSerializer.class : CompactEventSerializer.class);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory);
+        // send() must fail fast instead of parking request threads when the buffer is full
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
@@ -40,21 +101,53 @@ public class KafkaConfig {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    @Bean
+    public RecentIdFilter recentVoteFilter() {
+        return new RecentIdFilter(recentVoteIds);
+    }
+
+    @Bean
+    public HotPollKeys hotPollKeys() {
+        return new HotPollKeys(hotPollShards, hotPollVotesPerSecond, hotPollHoldMs, pinnedHotPolls);
+    }
+
     @Bean
     public NewTopic votesTopic() {
-        return TopicBuilder.name("votes-topic").partitions(6).replicas(1).build();
+        return TopicBuilder.name("votes-topic").partitions(votesTopicPartitions).replicas(1).build();
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(Environment environment) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "voting-service");
-        JsonDeserializer<Object> deserializer = new JsonDeserializer<>();
-        deserializer.addTrustedPackages("com.runrt.common.events");
-        var cf = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), deserializer);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        // Reads both compact and legacy JSON events
+        var cf = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new CompactEventDeserializer<>(Object.class));
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(cf);
+        // One consumer per thread; hot polls are salted over all partitions, so they use every thread
+        factory.setConcurrency(consumerConcurrency);
+        // Whole poll cycles are handed to the listener; offsets are committed only once it returns.
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("votes-consumer-");
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
         return factory;
     }
+
+    @Bean(destroyMethod = "close")
+    public PollCatalog pollCatalog(@Value("${voting.catalog.enabled:true}") boolean enabled,
+                                   @Value("${voting.catalog.missing-ttl-ms:5000}") long missingTtlMs) {
+        PollCatalog catalog = new PollCatalog(bootstrapServers, missingTtlMs);
+        // A catalog that never starts never becomes ready, so every vote passes
+        if (enabled) {
+            catalog.start();
+        }
+        return catalog;
+    }
 }
@@ -7,15 +7,16 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "votes")
+// UNIQUE (poll_id, user_id) is added by VoterUniqueConstraint, only when votes is not partitioned
+@Table(name = "votes", indexes = @Index(name = "idx_votes_poll_option", columnList = "poll_id, option_id"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Vote {
+    /** Taken from {@code VoteRecordedEvent.voteId}, never generated. */
     @Id
-    @GeneratedValue
     private UUID id;
 
     @Column(nullable = false)
@@ -30,6 +31,3 @@ public class Vote {
     @Column(nullable = false)
     private Instant createdAt;
 }
-
-
-
@@ -0,0 +1,23 @@
+package com.runrt.voting.domain;
+
+import java.util.List;
+
+public interface VoteBatchRepository {
+
+    /**
+     * @param written votes stored by this call
+     * @param duplicateVoters votes dropped because their user already has another vote in the poll
+     */
+    record InsertResult(int written, int duplicateVoters) { }
+
+    /**
+     * Writes all votes with a single multi-row INSERT. Votes whose id is already stored are
+     * skipped, so redelivered batches are harmless. A vote whose (poll, user) pair already has a
+     * vote under another id, in the table or earlier in the batch, is not stored and is reported
+     * in {@link InsertResult#duplicateVoters()} instead of failing the batch.
+     * <p>
+     * The same statement appends one {@code vote_count_deltas} row per (poll, option) for the
+     * votes actually written, so the aggregate never disagrees with the raw rows.
+     */
+    InsertResult insertAll(List<Vote> votes);
+}
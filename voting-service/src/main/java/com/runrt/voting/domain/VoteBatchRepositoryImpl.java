@@ -0,0 +1,93 @@
+package com.runrt.voting.domain;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+
+public class VoteBatchRepositoryImpl implements VoteBatchRepository {
+
+    // The first vote of a (poll, user) pair wins; later ones under other ids are only counted.
+    // NOT EXISTS cannot see rows of concurrent uncommitted batches, so where uk_votes_poll_user
+    // exists it is also the conflict target: a pair claimed meanwhile is skipped, not a failed batch.
+    private static final String INSERT_SQL =
+            "WITH input AS (" +
+            "SELECT * FROM unnest(?::uuid[], ?::uuid[], ?::uuid[], ?::uuid[], ?::timestamptz[]) " +
+            "AS v(id, poll_id, option_id, user_id, created_at)), " +
+            "accepted AS (" +
+            "SELECT DISTINCT ON (poll_id, user_id) * FROM input v " +
+            "WHERE NOT EXISTS (SELECT 1 FROM votes x " +
+            "WHERE x.poll_id = v.poll_id AND x.user_id = v.user_id AND x.id <> v.id) " +
+            "ORDER BY poll_id, user_id, created_at, id), " +
+            "stored AS (" +
+            "SELECT 1 FROM accepted a WHERE EXISTS (SELECT 1 FROM votes x " +
+            "WHERE x.id = a.id AND x.created_at = a.created_at)), " +
+            "inserted AS (" +
+            "INSERT INTO votes (id, poll_id, option_id, user_id, created_at) " +
+            "SELECT id, poll_id, option_id, user_id, created_at FROM accepted " +
+            "ON CONFLICT (%s) DO NOTHING " +
+            "RETURNING poll_id, option_id), " +
+            "counted AS (" +
+            "INSERT INTO vote_count_deltas (poll_id, option_id, delta) " +
+            "SELECT poll_id, option_id, count(*) FROM inserted GROUP BY poll_id, option_id) " +
+            "SELECT (SELECT count(*) FROM inserted), " +
+            "(SELECT count(*) FROM input) - (SELECT count(*) FROM inserted) - (SELECT count(*) FROM stored)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean partitioned;
+    private final String insertByIdSql;
+    private final String insertByVoterSql;
+    private volatile boolean voterConstraint;
+
+    public VoteBatchRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                   @Value("${voting.votes.partitioning.enabled:false}") boolean partitioned) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitioned = partitioned;
+        // The partitioned table's primary key has to include the partition column
+        this.insertByIdSql = INSERT_SQL.formatted(partitioned ? "id, created_at" : "id");
+        // A redelivered vote has the same (poll, user) as its stored row, so this target skips it too
+        this.insertByVoterSql = INSERT_SQL.formatted("poll_id, user_id");
+    }
+
+    @Override
+    public InsertResult insertAll(List<Vote> votes) {
+        if (votes.isEmpty()) {
+            return new InsertResult(0, 0);
+        }
+        int n = votes.size();
+        UUID[] ids = new UUID[n];
+        UUID[] pollIds = new UUID[n];
+        UUID[] optionIds = new UUID[n];
+        UUID[] userIds = new UUID[n];
+        String[] createdAt = new String[n];
+        for (int i = 0; i < n; i++) {
+            Vote v = votes.get(i);
+            ids[i] = v.getId();
+            pollIds[i] = v.getPollId();
+            optionIds[i] = v.getOptionId();
+            userIds[i] = v.getUserId();
+            createdAt[i] = v.getCreatedAt().toString();
+        }
+        InsertResult result = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(insertSql());
+            ps.setArray(1, con.createArrayOf("uuid", ids));
+            ps.setArray(2, con.createArrayOf("uuid", pollIds));
+            ps.setArray(3, con.createArrayOf("uuid", optionIds));
+            ps.setArray(4, con.createArrayOf("uuid", userIds));
+            ps.setArray(5, con.createArrayOf("text", createdAt));
+            return ps;
+        }, rs -> rs.next() ? new InsertResult(rs.getInt(1), rs.getInt(2)) : new InsertResult(0, 0));
+        return result != null ? result : new InsertResult(0, 0);
+    }
+
+    // VoterUniqueConstraint adds the constraint only once the application is ready
+    private String insertSql() {
+        if (!partitioned && !voterConstraint) {
+            voterConstraint = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_votes_poll_user')", Boolean.class));
+        }
+        return voterConstraint ? insertByVoterSql : insertByIdSql;
+    }
+}
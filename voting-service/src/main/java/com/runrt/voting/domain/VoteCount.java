@@ -0,0 +1,42 @@
+package com.runrt.voting.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Compacted vote count of one poll option. The exact count is this plus the option's rows still
+ * pending in {@code vote_count_deltas}; see {@link VoteCountRepository#countsByPoll}.
+ */
+@Entity
+@Table(name = "vote_counts")
+@IdClass(VoteCount.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VoteCount {
+    @Id
+    private UUID pollId;
+
+    @Id
+    private UUID optionId;
+
+    @Column(nullable = false)
+    private long voteCount;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID pollId;
+        private UUID optionId;
+    }
+}
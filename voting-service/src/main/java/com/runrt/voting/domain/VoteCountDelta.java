@@ -0,0 +1,33 @@
+package com.runrt.voting.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Votes added to an option by one consumer batch, written in the same statement as the votes
+ * themselves. Appending instead of updating {@code vote_counts} keeps concurrent consumers of a
+ * hot poll off each other's row locks; {@code VoteCountCompactor} folds these rows in later.
+ */
+@Entity
+@Table(name = "vote_count_deltas", indexes = @Index(name = "idx_vote_count_deltas_poll", columnList = "poll_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VoteCountDelta {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID pollId;
+
+    @Column(nullable = false)
+    private UUID optionId;
+
+    @Column(nullable = false)
+    private long delta;
+}
@@ -0,0 +1,76 @@
+package com.runrt.voting.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface VoteCountRepository extends JpaRepository<VoteCount, VoteCount.Key> {
+
+    interface OptionCount {
+        UUID getOptionId();
+
+        long getVotes();
+    }
+
+    /**
+     * Exact per-option counts of a poll: compacted counts plus pending deltas, read from one
+     * snapshot so a concurrent compaction is never seen half-done.
+     */
+    @Query(value = "SELECT option_id AS optionId, CAST(sum(n) AS bigint) AS votes FROM ("
+            + " SELECT option_id, vote_count AS n FROM vote_counts WHERE poll_id = :pollId"
+            + " UNION ALL"
+            + " SELECT option_id, delta FROM vote_count_deltas WHERE poll_id = :pollId) c"
+            + " GROUP BY option_id", nativeQuery = true)
+    List<OptionCount> countsByPoll(@Param("pollId") UUID pollId);
+
+    /**
+     * Moves up to {@code limit} of the oldest deltas into {@code vote_counts} in one statement.
+     * SKIP LOCKED lets several replicas compact concurrently; upserting in key order keeps them
+     * from deadlocking on the same counters.
+     *
+     * @return number of counters updated
+     */
+    @Modifying
+    @Query(value = "WITH moved AS ("
+            + " DELETE FROM vote_count_deltas WHERE id IN ("
+            + "  SELECT id FROM vote_count_deltas ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)"
+            + " RETURNING poll_id, option_id, delta)"
+            + " INSERT INTO vote_counts (poll_id, option_id, vote_count, updated_at)"
+            + " SELECT poll_id, option_id, sum(delta), now() FROM moved"
+            + " GROUP BY poll_id, option_id ORDER BY poll_id, option_id"
+            + " ON CONFLICT (poll_id, option_id) DO UPDATE"
+            + " SET vote_count = vote_counts.vote_count + EXCLUDED.vote_count, updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int compactOldest(@Param("limit") int limit);
+
+    /** False when votes exist but were never counted, i.e. before the first recount. */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM vote_counts) OR NOT EXISTS (SELECT 1 FROM votes)", nativeQuery = true)
+    boolean isInitialized();
+
+    /** Serializes backfills across replicas until the calling transaction ends. */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('vote_counts_backfill'))", nativeQuery = true)
+    int lockBackfill();
+
+    /** Blocks inserts into {@code votes} until the calling transaction ends, so a recount is exact. */
+    @Modifying
+    @Query(value = "LOCK TABLE votes IN SHARE MODE", nativeQuery = true)
+    void lockVotes();
+
+    @Modifying
+    @Query(value = "DELETE FROM vote_count_deltas", nativeQuery = true)
+    int deleteAllDeltas();
+
+    @Modifying
+    @Query(value = "DELETE FROM vote_counts", nativeQuery = true)
+    int deleteAllCounts();
+
+    @Modifying
+    @Query(value = "INSERT INTO vote_counts (poll_id, option_id, vote_count, updated_at)"
+            + " SELECT poll_id, option_id, count(*), now() FROM votes GROUP BY poll_id, option_id",
+            nativeQuery = true)
+    int insertRecount();
+}
@@ -4,5 +4,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.UUID;
 
-public interface VoteRepository extends JpaRepository<Vote, UUID> {
+public interface VoteRepository extends JpaRepository<Vote, UUID>, VoteBatchRepository {
 }
@@ -0,0 +1,68 @@
+package com.runrt.voting.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.runrt.common.catalog.PollCatalog;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.UUID;
+
+/**
+ * Resolves polls the {@link PollCatalog} has not seen yet, typically ones created after its
+ * replay whose event is still on its way through the outbox. Asks polls-service and records the
+ * answer in the catalog. If polls-service cannot answer, the vote is accepted rather than
+ * rejected for a poll that may well exist.
+ */
+@Component
+@Slf4j
+public class PollLookup {
+
+    private final PollCatalog pollCatalog;
+    private final RestClient restClient;
+    private final MeterRegistry registry;
+
+    public PollLookup(PollCatalog pollCatalog,
+                      MeterRegistry registry,
+                      @Value("${voting.catalog.polls-url:http://polls-service:8082}") String pollsUrl,
+                      @Value("${voting.catalog.lookup-timeout-ms:500}") int timeoutMs) {
+        this.pollCatalog = pollCatalog;
+        this.registry = registry;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.restClient = RestClient.builder().baseUrl(pollsUrl).requestFactory(requestFactory).build();
+    }
+
+    public PollCatalog.Check verify(UUID pollId, UUID optionId) {
+        try {
+            JsonNode poll = restClient.get().uri("/api/polls/{id}", pollId).retrieve().body(JsonNode.class);
+            if (poll == null) {
+                return record("unavailable", PollCatalog.Check.VALID);
+            }
+            pollCatalog.put(poll);
+            return record("found", pollCatalog.check(pollId, optionId));
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode() == HttpStatus.NOT_FOUND) {
+                pollCatalog.markMissing(pollId);
+                return record("missing", PollCatalog.Check.UNKNOWN_POLL);
+            }
+            log.warn("Poll lookup for {} failed: {}", pollId, ex.getMessage());
+            return record("unavailable", PollCatalog.Check.VALID);
+        } catch (RestClientException | IllegalArgumentException ex) {
+            log.warn("Poll lookup for {} failed: {}", pollId, ex.getMessage());
+            return record("unavailable", PollCatalog.Check.VALID);
+        }
+    }
+
+    private PollCatalog.Check record(String result, PollCatalog.Check check) {
+        registry.counter("votes.catalog.lookup", "result", result).increment();
+        return check;
+    }
+}
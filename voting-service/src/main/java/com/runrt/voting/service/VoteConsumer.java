@@ -1,25 +1,60 @@
 package com.runrt.voting.service;
 
+import com.runrt.common.dedup.RecentIdFilter;
 import com.runrt.common.events.VoteRecordedEvent;
 import com.runrt.voting.domain.Vote;
+import com.runrt.voting.domain.VoteBatchRepository;
 import com.runrt.voting.domain.VoteRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class VoteConsumer {
     private final VoteRepository repository;
+    private final RecentIdFilter recentVoteFilter;
+    private final Counter duplicateVoters;
+
+    public VoteConsumer(VoteRepository repository, RecentIdFilter recentVoteFilter, MeterRegistry registry) {
+        this.repository = repository;
+        this.recentVoteFilter = recentVoteFilter;
+        // Second votes that got past the Redis voter index, e.g. after its set expired; results-service still counts them
+        this.duplicateVoters = Counter.builder("votes.persist.rejected").tag("reason", "duplicate_voter").register(registry);
+    }
 
     @KafkaListener(topics = "votes-topic", groupId = "voting-service")
-    public void handle(VoteRecordedEvent event) {
-        Vote v = Vote.builder()
-                .pollId(event.getPollId())
-                .optionId(event.getOptionId())
-                .userId(event.getUserId())
-                .createdAt(event.getTimestamp())
-                .build();
-        repository.save(v);
+    public void handle(List<VoteRecordedEvent> events) {
+        Map<UUID, Vote> fresh = new LinkedHashMap<>();
+        for (VoteRecordedEvent event : events) {
+            if (recentVoteFilter.contains(event.getVoteId())) {
+                continue;
+            }
+            fresh.putIfAbsent(event.getVoteId(), Vote.builder()
+                    .id(event.getVoteId())
+                    .pollId(event.getPollId())
+                    .optionId(event.getOptionId())
+                    .userId(event.getUserId())
+                    .createdAt(event.getTimestamp())
+                    .build());
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+        // Throwing here leaves the batch uncommitted so the container redelivers it.
+        VoteBatchRepository.InsertResult result = repository.insertAll(new ArrayList<>(fresh.values()));
+        if (result.duplicateVoters() > 0) {
+            duplicateVoters.increment(result.duplicateVoters());
+            log.warn("Dropped {} of {} votes from users who already voted in the poll", result.duplicateVoters(), fresh.size());
+        }
+        fresh.keySet().forEach(recentVoteFilter::add);
     }
 }
@@ -0,0 +1,75 @@
+package com.runrt.voting.service;
+
+import com.runrt.voting.domain.VoteCountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains {@code vote_counts}. Consumers only append deltas (see {@code VoteBatchRepository});
+ * this folds them into the per-option counters on a schedule, and counts the existing votes once
+ * when the table is introduced on a database that already has some.
+ */
+@Component
+@Slf4j
+public class VoteCountCompactor {
+
+    private final VoteCountRepository countRepository;
+    private final int batchSize;
+    private final Counter compacted;
+
+    public VoteCountCompactor(VoteCountRepository countRepository,
+                              MeterRegistry registry,
+                              @Value("${voting.counts.compaction-batch-size:10000}") int batchSize) {
+        this.countRepository = countRepository;
+        this.batchSize = batchSize;
+        this.compacted = Counter.builder("votes.counts.compacted").register(registry);
+    }
+
+    /**
+     * @return exact votes per option of the poll, empty if it has none
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, Long> counts(UUID pollId) {
+        Map<UUID, Long> counts = new HashMap<>();
+        countRepository.countsByPoll(pollId).forEach(row -> counts.put(row.getOptionId(), row.getVotes()));
+        return counts;
+    }
+
+    @Scheduled(fixedDelayString = "${voting.counts.compaction-interval-ms:1000}")
+    @Transactional
+    public void compact() {
+        int updated = countRepository.compactOldest(batchSize);
+        if (updated > 0) {
+            compacted.increment(updated);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (countRepository.isInitialized()) {
+            return;
+        }
+        // Another replica may have started the same backfill; re-check once it is done
+        countRepository.lockBackfill();
+        countRepository.lockVotes();
+        if (countRepository.isInitialized()) {
+            return;
+        }
+        countRepository.deleteAllDeltas();
+        countRepository.deleteAllCounts();
+        int counters = countRepository.insertRecount();
+        log.info("Counted existing votes into {} vote_counts rows", counters);
+    }
+}
@@ -0,0 +1,105 @@
+package com.runrt.voting.service;
+
+import com.runrt.common.catalog.PollCatalog;
+import com.runrt.common.events.VoteRecordedEvent;
+import com.runrt.common.votes.VoteOutcome;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Validates a vote, claims the user's single vote in the poll and hands the event to
+ * {@link VotePublisher}. Shared by the single and the bulk endpoint.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VoteIngestService {
+
+    /** One vote of a bulk request. */
+    public record Ballot(UUID pollId, UUID optionId, UUID userId) { }
+
+    private final VotePublisher votePublisher;
+    private final VoterIndex voterIndex;
+    private final PollCatalog pollCatalog;
+    private final PollLookup pollLookup;
+
+    public VoteOutcome submit(UUID pollId, UUID optionId, UUID userId) {
+        return submitAll(List.of(new Ballot(pollId, optionId, userId))).get(0);
+    }
+
+    /**
+     * Submits a chunk of a bulk request: every ballot is validated on its own, then the voters of
+     * the valid ones are claimed with a single Redis call.
+     *
+     * @return the outcome of each ballot, in order
+     */
+    public List<VoteOutcome> submitAll(List<Ballot> ballots) {
+        VoteOutcome[] outcomes = new VoteOutcome[ballots.size()];
+        List<Integer> valid = new ArrayList<>(ballots.size());
+        for (int i = 0; i < ballots.size(); i++) {
+            outcomes[i] = validate(ballots.get(i));
+            if (outcomes[i] == null) {
+                valid.add(i);
+            }
+        }
+        if (valid.isEmpty()) {
+            return Arrays.asList(outcomes);
+        }
+        if (!votePublisher.hasCapacity()) {
+            valid.forEach(i -> outcomes[i] = VoteOutcome.BUSY);
+            return Arrays.asList(outcomes);
+        }
+
+        boolean[] claimed;
+        try {
+            claimed = voterIndex.claimAll(valid.stream()
+                    .map(i -> new VoterIndex.VoterKey(ballots.get(i).pollId(), ballots.get(i).userId()))
+                    .toList());
+        } catch (DataAccessException ex) {
+            log.error("Voter index unavailable", ex);
+            valid.forEach(i -> outcomes[i] = VoteOutcome.UNAVAILABLE);
+            return Arrays.asList(outcomes);
+        }
+        for (int j = 0; j < valid.size(); j++) {
+            int i = valid.get(j);
+            outcomes[i] = claimed[j] ? publish(ballots.get(i)) : VoteOutcome.ALREADY_VOTED;
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    private VoteOutcome validate(Ballot ballot) {
+        PollCatalog.Check check = pollCatalog.check(ballot.pollId(), ballot.optionId());
+        if (check == PollCatalog.Check.UNVERIFIED) {
+            check = pollLookup.verify(ballot.pollId(), ballot.optionId());
+        }
+        VoteOutcome rejection = VoteOutcome.rejection(check);
+        return rejection == null && ballot.userId() == null ? VoteOutcome.INVALID_VOTE : rejection;
+    }
+
+    private VoteOutcome publish(Ballot ballot) {
+        UUID pollId = ballot.pollId();
+        UUID userId = ballot.userId();
+        VoteRecordedEvent event = new VoteRecordedEvent(UUID.randomUUID(), pollId, ballot.optionId(), userId, Instant.now());
+        VotePublisher.Result result = votePublisher.publish(event, () -> voterIndex.release(pollId, userId));
+        if (result != VotePublisher.Result.QUEUED) {
+            voterIndex.release(pollId, userId);
+            return result == VotePublisher.Result.BUSY ? VoteOutcome.BUSY : VoteOutcome.UNAVAILABLE;
+        }
+        return VoteOutcome.ACCEPTED;
+    }
+
+    /**
+     * Pushes everything submitted so far to the broker, e.g. at the end of a bulk request.
+     */
+    public void flush() {
+        votePublisher.flush();
+    }
+}
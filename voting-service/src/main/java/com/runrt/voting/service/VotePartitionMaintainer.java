@@ -0,0 +1,79 @@
+package com.runrt.voting.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps monthly partitions of a {@code votes} table converted with {@code db/partition-votes.sql}:
+ * creates {@code votes_pYYYYMM} for the current month and {@code months-ahead} more, so inserts
+ * never miss a partition, and optionally detaches partitions older than
+ * {@code detach-after-months}. A detached partition is an ordinary table that can be dumped and
+ * dropped; {@code vote_counts} keeps counting its votes.
+ */
+@Component
+@ConditionalOnProperty(name = "voting.votes.partitioning.enabled", havingValue = "true")
+@Slf4j
+public class VotePartitionMaintainer {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String PREFIX = "votes_p";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int detachAfterMonths;
+
+    public VotePartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                   @Value("${voting.votes.partitioning.months-ahead:2}") int monthsAhead,
+                                   @Value("${voting.votes.partitioning.detach-after-months:0}") int detachAfterMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.detachAfterMonths = detachAfterMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${voting.votes.partitioning.cron:0 0 3 * * *}", zone = "UTC")
+    public void maintain() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+        if (detachAfterMonths > 0) {
+            detachBefore(current.minusMonths(detachAfterMonths));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + PREFIX + month.format(SUFFIX)
+                + " PARTITION OF votes FOR VALUES FROM ('" + month.atDay(1) + " 00:00:00+00')"
+                + " TO ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+    }
+
+    private void detachBefore(YearMonth oldestKept) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i"
+                        + " JOIN pg_class c ON c.oid = i.inhrelid"
+                        + " JOIN pg_class p ON p.oid = i.inhparent"
+                        + " WHERE p.relname = 'votes'", String.class);
+        for (String partition : partitions) {
+            if (!partition.matches(PREFIX + "\\d{6}")) {
+                continue;
+            }
+            YearMonth month = YearMonth.parse(partition.substring(PREFIX.length()), SUFFIX);
+            if (month.isBefore(oldestKept)) {
+                jdbcTemplate.execute("ALTER TABLE votes DETACH PARTITION " + partition);
+                log.info("Detached votes partition {} for archiving", partition);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.runrt.voting.service;
+
+import com.runrt.common.events.VoteRecordedEvent;
+import com.runrt.common.partitioning.HotPollKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Publishes votes to {@code votes-topic} without blocking request threads. Outstanding sends are
+ * capped by {@code voting.producer.max-in-flight}; beyond that callers are told to back off
+ * instead of queueing more work behind a saturated producer.
+ * <p>
+ * Records are keyed by poll, salted for hot polls by {@link HotPollKeys}.
+ */
+@Component
+@Slf4j
+public class VotePublisher {
+
+    public static final String TOPIC = "votes-topic";
+
+    public enum Result { QUEUED, BUSY, UNAVAILABLE }
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final HotPollKeys hotPollKeys;
+    private final Semaphore inFlight;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter rejected;
+    // Failure callbacks may block (e.g. on Redis), so they must not run on the producer's network thread
+    private final ExecutorService failureCallbacks;
+
+    public VotePublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                         HotPollKeys hotPollKeys,
+                         MeterRegistry registry,
+                         @Value("${voting.producer.max-in-flight:20000}") int maxInFlight,
+                         @Value("${voting.producer.failure-threads:2}") int failureThreads) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.hotPollKeys = hotPollKeys;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.sent = Counter.builder("votes.publish").tag("result", "sent").register(registry);
+        this.failed = Counter.builder("votes.publish").tag("result", "failed").register(registry);
+        this.rejected = Counter.builder("votes.publish").tag("result", "rejected").register(registry);
+        this.failureCallbacks = Executors.newFixedThreadPool(failureThreads, new CustomizableThreadFactory("vote-publish-failure-"));
+        Gauge.builder("votes.publish.in_flight", inFlight, s -> maxInFlight - s.availablePermits()).register(registry);
+    }
+
+    /**
+     * Cheap pre-check so callers can skip work that would be rejected anyway.
+     */
+    public boolean hasCapacity() {
+        return inFlight.availablePermits() > 0;
+    }
+
+    /**
+     * Starts an asynchronous send.
+     *
+     * @param onFailure invoked on a separate thread if the broker does not acknowledge the vote
+     */
+    public Result publish(VoteRecordedEvent event, Runnable onFailure) {
+        if (!inFlight.tryAcquire()) {
+            rejected.increment();
+            return Result.BUSY;
+        }
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            future = kafkaTemplate.send(TOPIC, hotPollKeys.key(event.getPollId(), event.getVoteId()), event);
+        } catch (KafkaException | org.apache.kafka.common.KafkaException ex) {
+            // Synchronous failures only, e.g. serialization or a closed producer
+            inFlight.release();
+            failed.increment();
+            log.warn("Vote {} not published: {}", event.getVoteId(), ex.getMessage());
+            return Result.UNAVAILABLE;
+        }
+        if (future.isCompletedExceptionally()) {
+            // A full buffer after max.block.ms or a metadata timeout fails the future before send() returns
+            inFlight.release();
+            failed.increment();
+            Throwable cause = future.handle((result, ex) -> ex).getNow(null);
+            log.warn("Vote {} not published: {}", event.getVoteId(), cause != null ? cause.getMessage() : "send failed");
+            return Result.UNAVAILABLE;
+        }
+        future.whenComplete((result, ex) -> {
+            inFlight.release();
+            if (ex == null) {
+                sent.increment();
+            } else {
+                failed.increment();
+                log.error("Failed to publish vote {}", event.getVoteId(), ex);
+                failureCallbacks.execute(onFailure);
+            }
+        });
+        return Result.QUEUED;
+    }
+
+    /**
+     * Sends any records still lingering in the producer buffer and waits for them to be written.
+     */
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        failureCallbacks.shutdown();
+    }
+}
@@ -0,0 +1,129 @@
+package com.runrt.voting.service;
+
+import com.runrt.common.votes.VoterClaims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tracks which users already voted in which poll. Redis sets ({@code poll:{id}:voters}) are the
+ * source of truth; a striped, bounded LRU of known pairs answers repeat attempts without a round trip.
+ * <p>
+ * Polls have no end date, so a set lives for {@code voting.voters.ttl-seconds} after the poll's
+ * last claimed vote. A vote arriving after that is accepted again here and dropped (and counted)
+ * when voting-service persists it.
+ */
+@Component
+public class VoterIndex {
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_VOTERS =
+            RedisScript.of(new ClassPathResource(VoterClaims.CLAIM_SCRIPT), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String ttlSeconds;
+    private final Stripe[] stripes;
+
+    public VoterIndex(StringRedisTemplate redisTemplate,
+                      @Value("${voting.voters.cache-stripes:16}") int stripeCount,
+                      @Value("${voting.voters.cache-size:200000}") int cacheSize,
+                      @Value("${voting.voters.ttl-seconds:2592000}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.ttlSeconds = String.valueOf(ttlSeconds);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(Math.max(1, cacheSize / stripeCount));
+        }
+    }
+
+    /**
+     * Atomically claims the user's single vote in a poll.
+     *
+     * @return {@code true} if this is the user's first vote, {@code false} if they already voted
+     */
+    public boolean claim(UUID pollId, UUID userId) {
+        return claimAll(List.of(new VoterKey(pollId, userId)))[0];
+    }
+
+    /**
+     * Claims several votes with one Redis call. A pair listed twice is claimed once: the later
+     * entry reports already voted.
+     *
+     * @return per entry, {@code true} if it was the user's first vote in the poll
+     */
+    public boolean[] claimAll(List<VoterKey> keys) {
+        boolean[] claimed = new boolean[keys.size()];
+        List<Integer> unknown = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            if (!stripeFor(keys.get(i)).contains(keys.get(i))) {
+                unknown.add(i);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return claimed;
+        }
+        List<String> setKeys = new ArrayList<>(unknown.size());
+        String[] args = new String[unknown.size() + 1];
+        args[0] = ttlSeconds;
+        for (int j = 0; j < unknown.size(); j++) {
+            VoterKey key = keys.get(unknown.get(j));
+            setKeys.add(VoterClaims.votersKey(key.pollId()));
+            args[j + 1] = key.userId().toString();
+        }
+        List<?> added = redisTemplate.execute(CLAIM_VOTERS, setKeys, (Object[]) args);
+        for (int j = 0; j < unknown.size(); j++) {
+            VoterKey key = keys.get(unknown.get(j));
+            claimed[unknown.get(j)] = added != null && ((Number) added.get(j)).longValue() > 0;
+            stripeFor(key).add(key);
+        }
+        return claimed;
+    }
+
+    /**
+     * Gives a claimed vote back, e.g. when the event could not be published.
+     */
+    public void release(UUID pollId, UUID userId) {
+        VoterKey key = new VoterKey(pollId, userId);
+        stripeFor(key).remove(key);
+        redisTemplate.opsForSet().remove(VoterClaims.votersKey(pollId), userId.toString());
+    }
+
+    private Stripe stripeFor(VoterKey key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    public record VoterKey(UUID pollId, UUID userId) { }
+
+    private static final class Stripe {
+        private final Map<VoterKey, Boolean> entries;
+
+        Stripe(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<VoterKey, Boolean> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized boolean contains(VoterKey key) {
+            return entries.get(key) != null;
+        }
+
+        synchronized void add(VoterKey key) {
+            entries.put(key, Boolean.TRUE);
+        }
+
+        synchronized void remove(VoterKey key) {
+            entries.remove(key);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.runrt.voting.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds {@code UNIQUE (poll_id, user_id)} to an unpartitioned {@code votes} table. The constraint
+ * is not declared on the {@code Vote} entity because a partitioned table cannot hold it, and
+ * Hibernate's schema update would keep trying to add it there.
+ */
+@Component
+@ConditionalOnProperty(name = "voting.votes.partitioning.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class VoterUniqueConstraint {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensure() {
+        try {
+            jdbcTemplate.execute("DO $$ BEGIN"
+                    + " IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_votes_poll_user') THEN"
+                    + "  ALTER TABLE votes ADD CONSTRAINT uk_votes_poll_user UNIQUE (poll_id, user_id);"
+                    + " END IF; END $$");
+        } catch (Exception ex) {
+            // Votes are still filtered per (poll, user) on insert; only the database-level guarantee is missing
+            log.error("Could not add uk_votes_poll_user to votes", ex);
+        }
+    }
+}
@@ -1,14 +1,32 @@
 package com.runrt.voting.web;
 
-import com.runrt.common.events.VoteRecordedEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.runrt.common.votes.VoteOutcome;
+import com.runrt.voting.service.VoteIngestService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.Instant;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -16,20 +34,250 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class VoteController {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final VoteIngestService ingestService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${voting.batch.max-items:10000}")
+    private int maxBatchItems;
+
+    @Value("${voting.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${voting.batch.trusted-roles:PARTNER,ADMIN}")
+    private Set<String> trustedRoles;
 
     @PostMapping
     public ResponseEntity<?> recordVote(@RequestBody VoteRequest req, @RequestHeader(value = "X-User-Id", required = false) String userIdHeader) {
-        UUID userId = userIdHeader != null ? UUID.fromString(userIdHeader) : UUID.randomUUID();
-        VoteRecordedEvent event = new VoteRecordedEvent(
-                UUID.randomUUID(),
-                req.getPollId(),
-                req.getOptionId(),
-                userId,
-                Instant.now()
-        );
-        kafkaTemplate.send("votes-topic", req.getPollId().toString(), event);
-        return ResponseEntity.accepted().body(Map.of("status", "queued"));
+        if (userIdHeader == null || userIdHeader.isBlank()) {
+            return ResponseEntity.status(401).body(Map.of("error", "missing_user"));
+        }
+        UUID userId = parseUuid(userIdHeader);
+        if (userId == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "invalid_user"));
+        }
+
+        VoteOutcome outcome = ingestService.submit(req.getPollId(), req.getOptionId(), userId);
+        if (outcome == VoteOutcome.ACCEPTED) {
+            return ResponseEntity.accepted().body(Map.of("status", "queued"));
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(outcome.httpStatus());
+        if (outcome == VoteOutcome.BUSY) {
+            response.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return response.body(Map.of("error", outcome.code()));
+    }
+
+    /**
+     * Accepts a JSON array or NDJSON stream of votes and answers in the same format with one
+     * {@code {"index", "status"}} entry per item, in order. Items are read and submitted in chunks
+     * of {@code voting.batch.chunk-size}, with one Redis call claiming a chunk's voters, so memory
+     * use does not depend on the payload size.
+     * <p>
+     * An item that cannot be read as a vote is answered {@code malformed} and the rest are still
+     * processed; only broken JSON syntax in an array stops the request, as nothing after it can be
+     * located (NDJSON resumes at the next line).
+     * <p>
+     * Items may name a {@code userId} other than the caller only when the caller's role is one of
+     * {@code voting.batch.trusted-roles} (kiosks and partner integrations).
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public void recordBatch(HttpServletRequest request, HttpServletResponse response,
+                            @RequestHeader(value = "X-User-Id", required = false) String userIdHeader,
+                            @RequestHeader(value = "X-User-Role", required = false) String role) throws IOException {
+        if (userIdHeader == null || userIdHeader.isBlank()) {
+            writeError(response, 401, "missing_user");
+            return;
+        }
+        UUID callerId = parseUuid(userIdHeader);
+        if (callerId == null) {
+            writeError(response, 400, "invalid_user");
+            return;
+        }
+        boolean trusted = role != null && trustedRoles.contains(role);
+        boolean ndjson = request.getContentType() != null
+                && MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.APPLICATION_NDJSON);
+
+        response.setStatus(200);
+        response.setContentType(ndjson ? MediaType.APPLICATION_NDJSON_VALUE : MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator out = objectMapper.getFactory().createGenerator(response.getOutputStream());
+             BatchReader items = ndjson ? new NdjsonReader(request) : new ArrayReader(request)) {
+            if (ndjson) {
+                out.setRootValueSeparator(new SerializedString("\n"));
+            } else {
+                out.writeStartArray();
+            }
+            Chunk chunk = new Chunk();
+            int index = 0;
+            while (true) {
+                BatchVoteItem item;
+                try {
+                    item = items.next();
+                } catch (JsonProcessingException ex) {
+                    chunk.add(index++, "malformed");
+                    if (items.canResume()) {
+                        continue;
+                    }
+                    break;
+                }
+                if (item == null) {
+                    break;
+                }
+                if (index >= maxBatchItems) {
+                    chunk.add(index, "too_many_items");
+                    break;
+                }
+                chunk.add(index++, item, callerId, trusted);
+                if (chunk.size() >= chunkSize) {
+                    chunk.submit(out);
+                }
+            }
+            chunk.submit(out);
+            ingestService.flush();
+            if (!ndjson) {
+                out.writeEndArray();
+            }
+        }
+    }
+
+    /** Items read but not yet answered; statuses known without submitting are kept in place. */
+    private final class Chunk {
+        private final List<Integer> indexes = new ArrayList<>();
+        private final List<String> statuses = new ArrayList<>();
+        private final List<VoteIngestService.Ballot> ballots = new ArrayList<>();
+        private final List<Integer> ballotPositions = new ArrayList<>();
+
+        void add(int index, String status) {
+            indexes.add(index);
+            statuses.add(status);
+        }
+
+        void add(int index, BatchVoteItem item, UUID callerId, boolean trusted) {
+            UUID userId = callerId;
+            if (item.getUserId() != null && !item.getUserId().equals(callerId)) {
+                if (!trusted) {
+                    add(index, "forbidden_user");
+                    return;
+                }
+                userId = item.getUserId();
+            }
+            ballotPositions.add(statuses.size());
+            ballots.add(new VoteIngestService.Ballot(item.getPollId(), item.getOptionId(), userId));
+            add(index, null);
+        }
+
+        int size() {
+            return indexes.size();
+        }
+
+        void submit(JsonGenerator out) throws IOException {
+            if (!ballots.isEmpty()) {
+                List<VoteOutcome> outcomes = ingestService.submitAll(ballots);
+                for (int i = 0; i < outcomes.size(); i++) {
+                    statuses.set(ballotPositions.get(i), outcomes.get(i).code());
+                }
+            }
+            for (int i = 0; i < indexes.size(); i++) {
+                writeItem(out, indexes.get(i), statuses.get(i));
+            }
+            out.flush();
+            indexes.clear();
+            statuses.clear();
+            ballots.clear();
+            ballotPositions.clear();
+        }
+    }
+
+    private interface BatchReader extends Closeable {
+        /** The next item, or {@code null} at the end of the input. */
+        BatchVoteItem next() throws IOException;
+
+        /** Whether reading can go on after {@link #next()} failed. */
+        boolean canResume();
+    }
+
+    private final class ArrayReader implements BatchReader {
+        private final MappingIterator<JsonNode> nodes;
+        private boolean broken;
+
+        ArrayReader(HttpServletRequest request) throws IOException {
+            this.nodes = objectMapper.readerFor(JsonNode.class).readValues(request.getInputStream());
+        }
+
+        @Override
+        public BatchVoteItem next() throws IOException {
+            JsonNode node;
+            try {
+                if (!nodes.hasNextValue()) {
+                    return null;
+                }
+                node = nodes.nextValue();
+            } catch (JsonProcessingException ex) {
+                broken = true;
+                throw ex;
+            }
+            return objectMapper.treeToValue(node, BatchVoteItem.class);
+        }
+
+        @Override
+        public boolean canResume() {
+            return !broken;
+        }
+
+        @Override
+        public void close() throws IOException {
+            nodes.close();
+        }
+    }
+
+    private final class NdjsonReader implements BatchReader {
+        private final BufferedReader lines;
+
+        NdjsonReader(HttpServletRequest request) throws IOException {
+            this.lines = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public BatchVoteItem next() throws IOException {
+            String line;
+            do {
+                line = lines.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            return objectMapper.readValue(line, BatchVoteItem.class);
+        }
+
+        @Override
+        public boolean canResume() {
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            lines.close();
+        }
+    }
+
+    private static void writeItem(JsonGenerator out, int index, String status) throws IOException {
+        out.writeStartObject();
+        out.writeNumberField("index", index);
+        out.writeStringField("status", status);
+        out.writeEndObject();
+    }
+
+    private void writeError(HttpServletResponse response, int status, String error) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", error));
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
     }
 
     @Data
@@ -37,4 +285,11 @@ public class VoteController {
         private UUID pollId;
         private UUID optionId;
     }
+
+    @Data
+    public static class BatchVoteItem {
+        private UUID pollId;
+        private UUID optionId;
+        private UUID userId;
+    }
 }
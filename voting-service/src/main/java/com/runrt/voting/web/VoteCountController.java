@@ -0,0 +1,37 @@
+package com.runrt.voting.web;
+
+import com.runrt.voting.service.VoteCountCompactor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Persisted per-option counts of a poll, for audits and final reports. Unlike results-service's
+ * live tallies these come from {@code vote_counts} and match the stored votes exactly.
+ */
+@RestController
+@RequestMapping("/votes/counts")
+@RequiredArgsConstructor
+public class VoteCountController {
+
+    private final VoteCountCompactor voteCounts;
+
+    @Value("${voting.counts.report-roles:ADMIN}")
+    private Set<String> reportRoles;
+
+    @GetMapping("/{pollId}")
+    public ResponseEntity<?> counts(@PathVariable UUID pollId,
+                                    @RequestHeader(value = "X-User-Role", required = false) String role) {
+        if (role == null || !reportRoles.contains(role)) {
+            return ResponseEntity.status(403).body(Map.of("error", "forbidden"));
+        }
+        Map<UUID, Long> counts = voteCounts.counts(pollId);
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        return ResponseEntity.ok(Map.of("pollId", pollId, "counts", counts, "totalVotes", total));
+    }
+}
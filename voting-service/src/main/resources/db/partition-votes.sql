@@ -0,0 +1,55 @@
+-- One-off conversion of votes into a table range-partitioned by month on created_at.
+-- Run with voting-service stopped, then start it with VOTING_VOTES_PARTITIONING_ENABLED=true so
+-- VotePartitionMaintainer keeps creating the upcoming partitions.
+--
+-- A partitioned table cannot enforce UNIQUE (poll_id, user_id) across partitions, so afterwards
+-- one vote per user per poll is enforced by the Redis voter index and by the insert skipping
+-- (poll_id, user_id) pairs already stored (idx_votes_poll_user). Redelivered votes keep their id
+-- and timestamp and are still skipped by the (id, created_at) primary key.
+SET TIME ZONE 'UTC';
+
+BEGIN;
+
+ALTER TABLE votes RENAME TO votes_unpartitioned;
+-- The constraint is missing when voting-service could not add it (duplicates already stored)
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_votes_poll_user'
+               AND conrelid = 'votes_unpartitioned'::regclass) THEN
+        ALTER TABLE votes_unpartitioned RENAME CONSTRAINT uk_votes_poll_user TO uk_votes_unpartitioned_poll_user;
+    END IF;
+END $$;
+ALTER INDEX IF EXISTS idx_votes_poll_option RENAME TO idx_votes_unpartitioned_poll_option;
+
+CREATE TABLE votes (
+    id         uuid                        NOT NULL,
+    poll_id    uuid                        NOT NULL,
+    option_id  uuid                        NOT NULL,
+    user_id    uuid                        NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+DO $$
+DECLARE
+    m timestamptz;
+BEGIN
+    FOR m IN SELECT generate_series(
+                 date_trunc('month', coalesce((SELECT min(created_at) FROM votes_unpartitioned), now())),
+                 date_trunc('month', now()) + interval '2 months',
+                 interval '1 month')
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF votes FOR VALUES FROM (%L) TO (%L)',
+                       'votes_p' || to_char(m, 'YYYYMM'), m, m + interval '1 month');
+    END LOOP;
+END $$;
+
+INSERT INTO votes (id, poll_id, option_id, user_id, created_at)
+SELECT id, poll_id, option_id, user_id, created_at FROM votes_unpartitioned;
+
+DROP TABLE votes_unpartitioned;
+
+CREATE INDEX idx_votes_poll_option ON votes (poll_id, option_id);
+CREATE INDEX idx_votes_poll_user ON votes (poll_id, user_id);
+
+COMMIT;